@@ -23,6 +23,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
@@ -40,6 +42,7 @@ import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.vmplugin.VMPluginFactory;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
+import org.codehaus.jdt.groovy.internal.compiler.ast.ResolutionFailureCache;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.resources.IFile;
@@ -47,12 +50,14 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.builder.Problem;
 import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.groovy.search.VariableScope;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
 import org.junit.After;
@@ -247,6 +252,104 @@ public final class BasicGroovyBuildTests extends BuilderTestSuite {
         executeClass(paths[0], "p1.Hello", "Hello Groovy world", null);
     }
 
+    @Test
+    public void testResolutionFailureAddedTypeWithoutDelta() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        IPath groovy = env.addGroovyClass(paths[1], "p", "A",
+            "package p\n" +
+            "class A {\n" +
+            "  q.B b\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        assertTrue(env.getProblemsFor(groovy).length > 0);
+
+        // without a java element delta, the next build has to find the new type anyway
+        JavaCore.removeElementChangedListener(ResolutionFailureCache.INSTANCE);
+        try {
+            env.addClass(paths[1], "q", "B",
+                "package q;\n" +
+                "public class B {}\n");
+            incrementalBuild(paths[0]);
+            expectingNoProblems();
+        } finally {
+            JavaCore.addElementChangedListener(ResolutionFailureCache.INSTANCE, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+        }
+    }
+
+    @Test
+    public void testResolutionFailureKeyedByNameEnvironment() {
+        INameEnvironment main = newNameEnvironment(), test = newNameEnvironment();
+        ResolutionFailureCache cache = ResolutionFailureCache.INSTANCE;
+        try {
+            cache.recordFailure("Project", main, "q.B");
+            assertTrue(cache.isKnownFailure("Project", main, "q.B"));
+            // test sources may see types that main sources do not and vice versa
+            assertFalse(cache.isKnownFailure("Project", test, "q.B"));
+            assertFalse(cache.isKnownFailure("Other", main, "q.B"));
+
+            cache.recordFailure("Project", test, "q.C");
+            cache.clear("Project");
+            assertFalse(cache.isKnownFailure("Project", main, "q.B"));
+            assertFalse(cache.isKnownFailure("Project", test, "q.C"));
+        } finally {
+            cache.clear("Project");
+        }
+    }
+
+    @Test
+    public void testResolutionFailureDoesNotRetainNameEnvironment() {
+        INameEnvironment environment = newNameEnvironment();
+        ResolutionFailureCache.INSTANCE.recordFailure("Project", environment, "q.B");
+        WeakReference<INameEnvironment> reference = new WeakReference<>(environment);
+        environment = null;
+        try {
+            for (int i = 0; i < 10 && reference.get() != null; i += 1) {
+                System.gc();
+            }
+            assertNull(reference.get());
+        } finally {
+            ResolutionFailureCache.INSTANCE.clear("Project");
+        }
+    }
+
+    @Test
+    public void testResolutionFailureTypeAddedToClasspath() throws Exception {
+        IPath[] library = createSimpleProject("Library", false);
+        env.addClass(library[1], "q", "B",
+            "package q;\n" +
+            "public class B {}\n");
+
+        IPath[] paths = createSimpleProject("Project", true);
+        IPath groovy = env.addGroovyClass(paths[1], "p", "A",
+            "package p\n" +
+            "class A {\n" +
+            "  q.B b\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        assertTrue(env.getProblemsFor(groovy).length > 0);
+
+        env.addRequiredProject(paths[0], library[0]);
+        incrementalBuild();
+        expectingNoProblems();
+    }
+
+    private static INameEnvironment newNameEnvironment() {
+        return (INameEnvironment) Proxy.newProxyInstance(INameEnvironment.class.getClassLoader(), new Class[] {INameEnvironment.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "isPackage":
+                    return Boolean.FALSE;
+                default:
+                    return null;
+                }
+            });
+    }
+
     @Test // https://github.com/groovy/groovy-eclipse/issues/550
     public void testProjectBasedirAsOutputLocation() throws Exception {
         IPath path = env.addProject("Project");
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 
 import org.codehaus.groovy.runtime.ResourceGroovyMethods;
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
@@ -105,6 +106,25 @@ public final class ScriptFolderTests extends BuilderTestSuite {
         assertSource("src/test/resources/Foo.java", selector);
     }
 
+    @Test
+    public void testScriptFolderSelectorSharedUntilPreferencesChange() throws Exception {
+        Activator.getInstancePreferences().putBoolean(Activator.GROOVY_SCRIPT_FILTERS_ENABLED, true);
+        Activator.getInstancePreferences().put(Activator.GROOVY_SCRIPT_FILTERS, "scripts/**/*.groovy,y");
+        IProject project = env.getProject(env.addProject("Project"));
+
+        ScriptFolderSelector selector = GroovyParser.getScriptFolderSelector(project);
+        assertTrue(selector == GroovyParser.getScriptFolderSelector(project));
+        assertScript("scripts/Foo.groovy", selector);
+
+        Activator.getInstancePreferences().put(Activator.GROOVY_SCRIPT_FILTERS, "scripts/**/*.groovy,n");
+        ScriptFolderSelector changed = GroovyParser.getScriptFolderSelector(project);
+        assertFalse(selector == changed);
+        assertScriptNoCopy("scripts/Foo.groovy", changed);
+
+        GroovyParser.clearCache(project.getName());
+        assertFalse(changed == GroovyParser.getScriptFolderSelector(project));
+    }
+
     @Test // now that we have tested the settings, let's test that scripts are handled correctly
     public void testScriptInProjectNotCompiled() throws Exception {
         Activator.getInstancePreferences().putBoolean(Activator.GROOVY_SCRIPT_FILTERS_ENABLED, true);
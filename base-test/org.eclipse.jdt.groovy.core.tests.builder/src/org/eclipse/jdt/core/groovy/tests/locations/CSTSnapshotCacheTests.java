@@ -0,0 +1,215 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.locations;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import groovy.lang.GroovyClassLoader;
+
+import org.codehaus.groovy.antlr.CSTSnapshot;
+import org.codehaus.groovy.antlr.GroovySourceAST;
+import org.codehaus.groovy.antlr.ICSTSnapshotSupport;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.Comment;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.ErrorCollector;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.jdt.groovy.control.CSTSnapshotCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class CSTSnapshotCacheTests {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static final String CONTENTS =
+        "package p\n" +
+        "// single-line comment\n" +
+        "class Bar {\n" +
+        "  /** doc */\n" +
+        "  def bar(String s = 'x') { \"${s}\" }\n" +
+        "}\n" +
+        "/* multi-line\n" +
+        "   comment */\n" +
+        "new Bar().bar()\n";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        CSTSnapshotCache cache = new CSTSnapshotCache(temp.newFolder(), Long.MAX_VALUE);
+
+        SnapshotSourceUnit first = new SnapshotSourceUnit(cache, CONTENTS, new CompilerConfiguration());
+        first.parse();
+        assertNull(first.loaded);
+        assertNotNull(first.stored);
+        String ast = toString(first.stored.getAST());
+        String comments = toString(first.stored.getComments());
+        int[] lineEndings = first.stored.getLocations().getLineEndings();
+        first.completePhase();
+        first.convert();
+        cache.flush();
+
+        SnapshotSourceUnit second = new SnapshotSourceUnit(cache, CONTENTS, new CompilerConfiguration());
+        second.parse();
+        assertNotNull(second.loaded);
+        assertNull(second.stored);
+        assertEquals(ast, toString(second.loaded.getAST()));
+        assertEquals(comments, toString(second.loaded.getComments()));
+        assertArrayEquals(lineEndings, second.loaded.getLocations().getLineEndings());
+        second.completePhase();
+        second.convert();
+
+        assertEquals(classNames(first), classNames(second));
+        assertEquals(first.getAST().getStart(), second.getAST().getStart());
+        assertEquals(first.getAST().getEnd(), second.getAST().getEnd());
+    }
+
+    @Test
+    public void testCompilerOptions() throws Exception {
+        CSTSnapshotCache cache = new CSTSnapshotCache(temp.newFolder(), Long.MAX_VALUE);
+        new SnapshotSourceUnit(cache, CONTENTS, new CompilerConfiguration()).parse();
+        cache.flush();
+
+        CompilerConfiguration config = new CompilerConfiguration();
+        config.setSourceEncoding("UTF-16");
+        SnapshotSourceUnit unit = new SnapshotSourceUnit(cache, CONTENTS, config);
+        unit.parse();
+        assertNull(unit.loaded);
+        assertNotNull(unit.stored);
+    }
+
+    @Test
+    public void testReconcile() throws Exception {
+        CSTSnapshotCache cache = new CSTSnapshotCache(temp.newFolder(), Long.MAX_VALUE);
+        new SnapshotSourceUnit(cache, CONTENTS, new CompilerConfiguration()).parse();
+        cache.flush();
+
+        SnapshotSourceUnit unit = new SnapshotSourceUnit(cache, CONTENTS, new CompilerConfiguration());
+        unit.isReconcile = true;
+        unit.parse();
+        assertNull(unit.loaded);
+        assertNull(unit.stored);
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        File folder = temp.newFolder();
+        File a = store(new CSTSnapshotCache(folder, Long.MAX_VALUE), folder, "class A {}");
+        long length = a.length();
+
+        // room for three and a half snapshots; eviction goes down to three quarters of that
+        CSTSnapshotCache cache = new CSTSnapshotCache(folder, length * 7 / 2);
+        File b = store(cache, folder, "class B {}");
+        File c = store(cache, folder, "class C {}");
+        long now = System.currentTimeMillis();
+        assertTrue(a.setLastModified(now - 180000));
+        assertTrue(b.setLastModified(now - 120000));
+        assertTrue(c.setLastModified(now - 60000));
+
+        SnapshotSourceUnit unit = new SnapshotSourceUnit(cache, "class A {}", new CompilerConfiguration());
+        unit.parse(); // marks A as recently used
+        assertNotNull(unit.loaded);
+
+        File d = store(cache, folder, "class D {}");
+        assertTrue(a.isFile());
+        assertFalse(b.isFile());
+        assertFalse(c.isFile());
+        assertTrue(d.isFile());
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Parses the given source and returns the snapshot file it was written to.
+     */
+    private static File store(CSTSnapshotCache cache, File folder, String contents) throws Exception {
+        List<File> before = Arrays.asList(folder.listFiles());
+        new SnapshotSourceUnit(cache, contents, new CompilerConfiguration()).parse();
+        cache.flush();
+
+        List<File> after = new ArrayList<>(Arrays.asList(folder.listFiles()));
+        after.removeAll(before);
+        assertEquals(1, after.size());
+        return after.get(0);
+    }
+
+    private static String toString(GroovySourceAST node) {
+        StringBuilder sb = new StringBuilder();
+        for (; node != null; node = (GroovySourceAST) node.getNextSibling()) {
+            sb.append('(').append(node.getType()).append(' ').append(node.getText());
+            sb.append(' ').append(node.getLine()).append(':').append(node.getColumn());
+            sb.append('-').append(node.getLineLast()).append(':').append(node.getColumnLast());
+            if (node.getFirstChild() != null) {
+                sb.append(' ').append(toString((GroovySourceAST) node.getFirstChild()));
+            }
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    private static String toString(List<Comment> comments) {
+        StringBuilder sb = new StringBuilder();
+        for (Comment comment : comments) {
+            sb.append(comment.sline).append(':').append(comment.scol).append('-');
+            sb.append(comment.eline).append(':').append(comment.ecol).append(' ');
+            sb.append(comment.isJavadoc()).append(' ').append(comment).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static List<String> classNames(SourceUnit unit) {
+        List<String> names = new ArrayList<>();
+        for (ClassNode classNode : unit.getAST().getClasses()) {
+            names.add(classNode.getName());
+        }
+        return names;
+    }
+
+    private static class SnapshotSourceUnit extends SourceUnit implements ICSTSnapshotSupport {
+        private final CSTSnapshotCache cache;
+        private final String contents;
+        CSTSnapshot loaded, stored;
+
+        SnapshotSourceUnit(CSTSnapshotCache cache, String contents, CompilerConfiguration config) {
+            super("Foo.groovy", contents, config, new GroovyClassLoader(), new ErrorCollector(config));
+            this.cache = cache;
+            this.contents = contents;
+        }
+
+        @Override
+        public CSTSnapshot loadSnapshot() {
+            loaded = cache.load(contents, getConfiguration());
+            return loaded;
+        }
+
+        @Override
+        public void storeSnapshot(CSTSnapshot snapshot) {
+            stored = snapshot;
+            cache.store(contents, getConfiguration(), snapshot);
+        }
+    }
+}
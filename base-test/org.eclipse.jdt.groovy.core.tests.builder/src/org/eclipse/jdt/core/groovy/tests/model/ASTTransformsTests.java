@@ -16,6 +16,7 @@
 package org.eclipse.jdt.core.groovy.tests.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
@@ -25,15 +26,18 @@ import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.FieldNode;
 import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.groovy.tests.builder.BuilderTestSuite;
+import org.eclipse.jdt.groovy.core.Activator;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -176,6 +180,23 @@ public final class ASTTransformsTests extends BuilderTestSuite {
         assertEquals("Should have found no constructors", 0, constructorCount);
     }
 
+    @Test
+    public void testReconcileTransformPolicies() throws Exception {
+        IEclipsePreferences preferences = Activator.getProjectPreferences(ResourcesPlugin.getWorkspace().getRoot().getProject("Project"));
+        preferences.put(Activator.GROOVY_RECONCILE_TRANSFORM_POLICIES, "groovy.transform.ToString=skip, groovy.transform.EqualsAndHashCode=signature");
+        try {
+            GroovyCompilationUnit unit = createUnit("Thiz", "@groovy.transform.ToString @groovy.transform.EqualsAndHashCode class Thiz { String foo }");
+            ClassNode clazz = unit.getModuleNode().getClasses().get(0);
+
+            assertTrue("Skipped transform should not add toString", clazz.getDeclaredMethods("toString").isEmpty());
+            List<MethodNode> equals = clazz.getDeclaredMethods("equals");
+            assertEquals(1, equals.size());
+            assertTrue("Signature-only transform should add an empty equals", ((BlockStatement) equals.get(0).getCode()).isEmpty());
+        } finally {
+            preferences.remove(Activator.GROOVY_RECONCILE_TRANSFORM_POLICIES);
+        }
+    }
+
     //--------------------------------------------------------------------------
 
     private void assertAnnotation(String aName, AnnotatedNode node) {
@@ -15,10 +15,16 @@
  */
 package org.eclipse.jdt.core.groovy.tests.search;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.groovy.search.ITypeRequestor.VisitStatus;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -2576,4 +2582,108 @@ public final class InferencingTests extends InferencingTestSuite {
         MethodNode m = assertDeclaration(contents, offset, offset + 4, "Issue405", "meth", DeclarationKind.METHOD);
         Assert.assertEquals("Expected 'meth(String, Date, Date)' but was 'meth(String, MyEnum)'", 3, m.getParameters().length);
     }
+
+    @Test
+    public void testCanceledVisitReturnsPartialResults() {
+        String contents = "def x = 1\n" + "def y = 2\n" + "def z = 3\n";
+        GroovyCompilationUnit unit = createUnit("Search", contents);
+
+        List<String> variables = new ArrayList<>();
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+        visitor.setProgressMonitor(monitor);
+        visitor.visitCompilationUnit((node, result, element) -> {
+            if (node instanceof VariableExpression) {
+                variables.add(((VariableExpression) node).getName());
+                monitor.setCanceled(true);
+            }
+            return VisitStatus.CONTINUE;
+        });
+
+        Assert.assertTrue(visitor.isIncomplete());
+        Assert.assertEquals("[x]", variables.toString());
+    }
+
+    @Test
+    public void testRepeatedVisitStartsComplete() throws Exception {
+        String contents = "def x = 1\n" + "def y = 2\n" + "def z = 3\n";
+        GroovyCompilationUnit unit = createUnit("Search", contents);
+
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+        visitor.setProgressMonitor(monitor);
+        visitor.setTimeBudget(50);
+        visitor.visitCompilationUnit((node, result, element) -> {
+            monitor.setCanceled(true);
+            return VisitStatus.CONTINUE;
+        });
+        Assert.assertTrue(visitor.isIncomplete());
+
+        // the budget runs from the start of each visit, not from setTimeBudget
+        Thread.sleep(100);
+        monitor.setCanceled(false);
+        List<String> variables = new ArrayList<>();
+        visitor.visitCompilationUnit((node, result, element) -> {
+            if (node instanceof VariableExpression) {
+                variables.add(((VariableExpression) node).getName());
+            }
+            return VisitStatus.CONTINUE;
+        });
+
+        Assert.assertFalse(visitor.isIncomplete());
+        Assert.assertEquals("[x, y, z]", variables.toString());
+    }
+
+    @Test
+    public void testUnboundedVisitIsComplete() {
+        String contents = "def x = 1\n" + "def y = 2\n";
+        GroovyCompilationUnit unit = createUnit("Search", contents);
+
+        TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+        visitor.setProgressMonitor(new NullProgressMonitor());
+        visitor.setTimeBudget(60_000);
+        visitor.visitCompilationUnit((node, result, element) -> VisitStatus.CONTINUE);
+
+        Assert.assertFalse(visitor.isIncomplete());
+    }
+
+    @Test
+    public void testRegionVisitSkipsOtherDeclarations() {
+        String contents = "class C {\n" + "  def a() { def x = 1 }\n" + "  def b() { def y = 2 }\n" + "  def c() { def z = 3 }\n" + "}\n";
+        GroovyCompilationUnit unit = createUnit("C", contents);
+
+        List<String> variables = new ArrayList<>();
+        TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+        visitor.setRegion(contents.indexOf("y = 2"), 1);
+        visitor.visitCompilationUnit((node, result, element) -> {
+            if (node instanceof VariableExpression) {
+                variables.add(((VariableExpression) node).getName());
+            }
+            return VisitStatus.CONTINUE;
+        });
+
+        Assert.assertFalse(visitor.isIncomplete());
+        Assert.assertEquals("[y]", variables.toString());
+    }
+
+    @Test
+    public void testRegionVisitSkipsFollowingStatements() {
+        String contents = "def x = 1\n" + "def y = x\n" + "def z = 3\n";
+        GroovyCompilationUnit unit = createUnit("Search", contents);
+
+        List<String> variables = new ArrayList<>();
+        TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+        visitor.setRegion(contents.indexOf("y = x"), 1);
+        visitor.visitCompilationUnit((node, result, element) -> {
+            if (node instanceof VariableExpression) {
+                variables.add(((VariableExpression) node).getName());
+            }
+            return VisitStatus.CONTINUE;
+        });
+
+        // preceding statements are visited for their declarations
+        Assert.assertTrue(variables.toString(), variables.contains("x"));
+        Assert.assertTrue(variables.toString(), variables.contains("y"));
+        Assert.assertFalse(variables.toString(), variables.contains("z"));
+    }
 }
@@ -28,6 +28,7 @@ import java.util.Set;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
@@ -39,6 +40,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.groovy.search.ParallelMatchLocator;
 import org.junit.Test;
 
 /**
@@ -439,8 +441,81 @@ public final class TypeReferenceSearchTests extends SearchTestSuite {
         assertEquals("Wrong number of matches found\n" + matches, 3, matches.size());
     }
 
+    @Test
+    public void testParallelSearchMatchesSequentialSearch() throws Exception {
+        createUnit("p", "First", "package p\nclass First {}");
+        for (int i = 1; i <= 6; i += 1) {
+            if (i % 2 == 0) {
+                createJavaUnit("p", "Java" + i, "package p;\nclass Java" + i + " {\n  First f = new First();\n}");
+            } else {
+                createUnit("p", "Groovy" + i, "package p\nclass Groovy" + i + " {\n  First f = new First()\n  def m(First x) { First }\n}");
+            }
+        }
+        fullBuild(project.getFullPath());
+        waitForIndexer();
+        IType firstType = JavaCore.create(project).findType("p.First");
+        assertNotNull(firstType);
+
+        List<String> sequential, parallel;
+        boolean enabled = ParallelMatchLocator.isEnabled();
+        try {
+            ParallelMatchLocator.setEnabled(false);
+            sequential = searchForReferences(firstType);
+            ParallelMatchLocator.setEnabled(true);
+            parallel = searchForReferences(firstType);
+        } finally {
+            ParallelMatchLocator.setEnabled(enabled);
+        }
+
+        assertEquals("Number of results found", 3 * 4 + 3 * 2, sequential.size());
+        assertEquals(String.join("\n", sequential), String.join("\n", parallel));
+    }
+
+    @Test
+    public void testParallelSearchCanceled() throws Exception {
+        createUnit("p", "First", "package p\nclass First {}");
+        for (int i = 1; i <= 4; i += 1) {
+            createUnit("p", "Groovy" + i, "package p\nclass Groovy" + i + " {\n  First f = new First()\n}");
+        }
+        fullBuild(project.getFullPath());
+        waitForIndexer();
+        IType firstType = JavaCore.create(project).findType("p.First");
+
+        boolean enabled = ParallelMatchLocator.isEnabled();
+        try {
+            ParallelMatchLocator.setEnabled(true);
+            NullProgressMonitor monitor = new NullProgressMonitor();
+            monitor.setCanceled(true);
+            new SearchEngine().search(SearchPattern.createPattern(firstType, IJavaSearchConstants.REFERENCES),
+                new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()},
+                SearchEngine.createJavaSearchScope(new IJavaElement[] {JavaCore.create(project)}), new SearchRequestor() {
+                    @Override
+                    public void acceptSearchMatch(SearchMatch match) {
+                        fail("No matches expected after cancellation: " + match);
+                    }
+                }, monitor);
+            fail("Expected search to be canceled");
+        } catch (OperationCanceledException expected) {
+        } finally {
+            ParallelMatchLocator.setEnabled(enabled);
+        }
+    }
+
     //--------------------------------------------------------------------------
 
+    private List<String> searchForReferences(IType type) throws CoreException {
+        final List<String> result = new ArrayList<>();
+        new SearchEngine().search(SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES),
+            new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()},
+            SearchEngine.createJavaSearchScope(new IJavaElement[] {JavaCore.create(project)}), new SearchRequestor() {
+                @Override
+                public void acceptSearchMatch(SearchMatch match) {
+                    result.add(match.getResource().getName() + "@" + match.getOffset() + ":" + match.getLength());
+                }
+            }, new NullProgressMonitor());
+        return result;
+    }
+
     private static void assertElements(Set<Object> actualSet, Object... expecteds) {
         Set<Object> expectedSet = new HashSet<>(Arrays.asList(expecteds));
         StringBuilder msg = new StringBuilder();
@@ -20,15 +20,21 @@ import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isParrotParser;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
 import org.codehaus.groovy.ast.ImportNode;
 import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.ModuleNode;
@@ -39,13 +45,17 @@ import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyClassScope;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.core.util.ClassFileBytesDisassembler;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
 import org.eclipse.jdt.internal.compiler.ast.FieldDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.ImportReference;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -5211,6 +5221,129 @@ public final class GroovySimpleTests extends GroovyCompilerTestSuite {
         }
     }
 
+    @Test
+    public void testJDTClassNodeLazyInitByKind() {
+        try {
+            JDTResolver.recordInstances = true;
+            runConformTest(new String[] {
+                "Main.groovy",
+                "class Main {\n" +
+                "  static main(args) {\n" +
+                "    AbstractMap map = new HashMap()\n" +
+                "    print map.isEmpty()\n" +
+                "  }\n" +
+                "}\n",
+            }, "true");
+
+            JDTClassNode node = newJDTClassNode("java.util.AbstractMap<K,V>");
+            assertEquals(0, getInitializedKinds(node));
+
+            // supertypes do not materialize members
+            assertEquals("java.lang.Object", node.getSuperClass().getName());
+            assertEquals("java.util.Map", node.getInterfaces()[0].getName());
+            assertEquals(LAZY_SUPERTYPES, getInitializedKinds(node));
+
+            // inner classes are built on demand
+            assertTrue(node.getInnerClasses().hasNext());
+            assertEquals(LAZY_SUPERTYPES | LAZY_INNER_CLASSES, getInitializedKinds(node));
+
+            assertFalse(node.getFields().isEmpty());
+            assertEquals(LAZY_SUPERTYPES | LAZY_INNER_CLASSES | LAZY_FIELDS, getInitializedKinds(node));
+            assertFalse((Boolean) ReflectionUtils.getPrivateField(ClassNode.class, "lazyInitDone", node));
+
+            assertFalse(node.getMethods().isEmpty());
+            assertFalse(node.getDeclaredConstructors().isEmpty());
+            assertEquals(LAZY_SUPERTYPES | LAZY_INNER_CLASSES | LAZY_FIELDS | LAZY_METHODS, getInitializedKinds(node));
+            assertTrue((Boolean) ReflectionUtils.getPrivateField(ClassNode.class, "lazyInitDone", node));
+        } finally {
+            JDTResolver.instances.clear();
+            JDTResolver.recordInstances = false;
+        }
+    }
+
+    @Test
+    public void testJDTClassNodeMethodsByName() {
+        try {
+            JDTResolver.recordInstances = true;
+            runConformTest(new String[] {
+                "Main.groovy",
+                "class Main {\n" +
+                "  static main(args) {\n" +
+                "    StringBuilder sb = new StringBuilder()\n" +
+                "    print sb.append('x')\n" +
+                "  }\n" +
+                "}\n",
+            }, "x");
+
+            JDTClassNode node = newJDTClassNode("java.lang.StringBuilder");
+            BinaryTypeBinding binding = (BinaryTypeBinding) node.getJdtBinding();
+            char[] selector = "append".toCharArray();
+            int infra = 0;
+            for (MethodBinding method : binding.infraMethods()) {
+                if (CharOperation.equals(selector, method.selector)) infra += 1;
+            }
+            assertTrue("expected bridge methods", infra > 0);
+
+            // look up by name first; includes the bridge methods
+            List<MethodNode> append = node.getDeclaredMethods("append");
+            assertEquals(binding.getMethods(selector).length + infra, append.size());
+            assertSame(append, node.getDeclaredMethods("append"));
+            assertEquals(0, getInitializedKinds(node) & LAZY_METHODS);
+
+            // then all methods; nodes looked up by name are reused once
+            List<MethodNode> methods = node.getMethods();
+            Set<MethodNode> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+            unique.addAll(methods);
+            assertEquals(methods.size(), unique.size());
+            for (MethodNode method : append) {
+                assertTrue(unique.contains(method));
+                assertSame(node, method.getDeclaringClass());
+            }
+            List<MethodNode> appendAfter = node.getDeclaredMethods("append");
+            assertEquals(append.size(), appendAfter.size());
+            assertTrue(appendAfter.stream().allMatch(method -> append.stream().anyMatch(m -> m == method)));
+        } finally {
+            JDTResolver.instances.clear();
+            JDTResolver.recordInstances = false;
+        }
+    }
+
+    @Test
+    public void testJDTClassNodeFieldsByName() {
+        try {
+            JDTResolver.recordInstances = true;
+            runConformTest(new String[] {
+                "Main.groovy",
+                "class Main {\n" +
+                "  static main(args) {\n" +
+                "    File file = new File('x')\n" +
+                "    print file.name\n" +
+                "  }\n" +
+                "}\n",
+            }, "x");
+
+            JDTClassNode node = newJDTClassNode("java.io.File");
+
+            // look up by name first
+            FieldNode separator = node.getDeclaredField("separator");
+            assertNotNull(separator);
+            assertSame(separator, node.getDeclaredField("separator"));
+            assertNull(node.getDeclaredField("noSuchField"));
+            assertEquals(0, getInitializedKinds(node) & LAZY_FIELDS);
+
+            // then all fields; the node looked up by name is reused once
+            List<FieldNode> fields = node.getFields();
+            assertEquals(1, fields.stream().filter(field -> field.getName().equals("separator")).count());
+            assertTrue(fields.stream().anyMatch(field -> field == separator));
+            assertSame(node, separator.getDeclaringClass());
+            assertSame(separator, node.getDeclaredField("separator"));
+            assertNull(node.getDeclaredField("noSuchField"));
+        } finally {
+            JDTResolver.instances.clear();
+            JDTResolver.recordInstances = false;
+        }
+    }
+
     @Test
     public void testSecondaryTypeTagging() {
         runConformTest(new String[] {
@@ -5912,6 +6045,23 @@ public final class GroovySimpleTests extends GroovyCompilerTestSuite {
         return returnType.getName();
     }
 
+    // kinds of members initialized by JDTClassNode.lazyClassInit(int)
+    private static final int LAZY_SUPERTYPES = 0x1, LAZY_METHODS = 0x2, LAZY_FIELDS = 0x4, LAZY_INNER_CLASSES = 0x8;
+
+    /**
+     * Creates an uninitialized node for the binding of a node built by the
+     * last compilation.
+     */
+    private static JDTClassNode newJDTClassNode(String name) {
+        JDTClassNode node = JDTResolver.getCachedNode(name);
+        assertNotNull(node);
+        return new JDTClassNode(node.getJdtBinding(), node.getResolver());
+    }
+
+    private static int getInitializedKinds(JDTClassNode node) {
+        return (Integer) ReflectionUtils.getPrivateField(JDTClassNode.class, "initialized", node);
+    }
+
     private String stringifyFieldDecl(FieldDeclaration fDecl) {
         StringBuffer sb = new StringBuffer();
         sb.append(fDecl.name);
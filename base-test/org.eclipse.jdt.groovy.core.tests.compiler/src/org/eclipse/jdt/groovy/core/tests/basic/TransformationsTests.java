@@ -17,15 +17,29 @@ package org.eclipse.jdt.groovy.core.tests.basic;
 
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isAtLeastGroovy;
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isParrotParser;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import groovy.lang.GroovyClassLoader;
 
 import org.codehaus.groovy.ast.AnnotationNode;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
+import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
 import org.eclipse.jdt.internal.compiler.ast.FieldDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.MethodDeclaration;
 import org.junit.Ignore;
@@ -1322,4 +1336,97 @@ public final class TransformationsTests extends GroovyCompilerTestSuite {
 
         runConformTest(sources, "@a.SampleAnnotation()");
     }
+
+    @Test
+    public void testTransformMetrics() {
+        GroovyMetrics.metrics.reset();
+        GroovyMetrics.metrics.setEnabled(true);
+        try {
+            String[] sources = {
+                "Main.groovy",
+                "@groovy.transform.ToString\n" +
+                "class Main {\n" +
+                "  String value = 'x'\n" +
+                "  static void main(args) {\n" +
+                "    print new Main()\n" +
+                "  }\n" +
+                "}\n",
+            };
+
+            runConformTest(sources, "Main(x)");
+
+            GroovyMetrics.Timer timer = GroovyMetrics.metrics.getTimer(GroovyMetrics.Category.LOCAL_TRANSFORM,
+                "org.codehaus.groovy.transform.ToStringASTTransformation");
+            assertTrue(timer != null && timer.getCount() >= 1);
+            assertTrue(GroovyMetrics.metrics.getTimer(GroovyMetrics.Category.PHASE, Phases.getDescription(Phases.SEMANTIC_ANALYSIS)) != null);
+
+            StringWriter report = new StringWriter();
+            GroovyMetrics.metrics.dump(new PrintWriter(report));
+            assertTrue(report.toString().contains("org.codehaus.groovy.transform.ToStringASTTransformation"));
+        } finally {
+            GroovyMetrics.metrics.setEnabled(false);
+            GroovyMetrics.metrics.reset();
+        }
+    }
+
+    @Test
+    public void testCompileStaticMethodSelectionMetrics() {
+        GroovyMetrics.metrics.reset();
+        GroovyMetrics.metrics.setEnabled(true);
+        try {
+            String[] sources = {
+                "Main.groovy",
+                "@groovy.transform.CompileStatic\n" +
+                "class Main {\n" +
+                "  static void main(args) {\n" +
+                "    StringBuilder sb = new StringBuilder()\n" +
+                "    sb.append('a')\n" +
+                "    sb.append('b')\n" +
+                "    sb.append('c')\n" +
+                "    print sb\n" +
+                "  }\n" +
+                "}\n",
+            };
+
+            runConformTest(sources, "abc");
+
+            GroovyMetrics.Timer hits = GroovyMetrics.metrics.getTimer(GroovyMetrics.Category.METHOD_SELECTION, "hit");
+            assertTrue(hits != null && hits.getCount() >= 2);
+            assertTrue(GroovyMetrics.metrics.getTimer(GroovyMetrics.Category.METHOD_SELECTION, "miss") != null);
+        } finally {
+            GroovyMetrics.metrics.setEnabled(false);
+            GroovyMetrics.metrics.reset();
+        }
+    }
+
+    @Test
+    public void testGlobalTransformScanIsCachedPerTransformLoader() {
+        AtomicInteger scans = new AtomicInteger();
+        GroovyClassLoader transformLoader = new GroovyClassLoader(getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                if (name.equals("META-INF/services/org.codehaus.groovy.transform.ASTTransformation")) {
+                    scans.incrementAndGet();
+                }
+                return super.getResources(name);
+            }
+        };
+        CompilerConfiguration config = new CompilerConfiguration();
+        try {
+            new CompilationUnit(config, null, null, transformLoader, true, null);
+            assertEquals(1, scans.get());
+            new CompilationUnit(config, null, null, transformLoader, true, null);
+            assertEquals("Expected the scan of the first unit to be reused", 1, scans.get());
+
+            config.setDisabledGlobalASTTransformations(Collections.singleton("groovy.grape.GrabAnnotationTransformation"));
+            new CompilationUnit(config, null, null, transformLoader, true, null);
+            assertEquals("Expected a new scan for different disabled transforms", 2, scans.get());
+
+            GroovyClassLoaderFactory.clearCache();
+            new CompilationUnit(config, null, null, transformLoader, true, null);
+            assertEquals("Expected a new scan after the loader caches were cleared", 3, scans.get());
+        } finally {
+            GroovyClassLoaderFactory.clearCache();
+        }
+    }
 }
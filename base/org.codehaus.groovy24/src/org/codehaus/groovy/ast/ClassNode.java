@@ -192,8 +192,8 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
     // clazz!=null when resolved
     protected Class clazz;
     // only false when this classNode is constructed from a class
-    // GRECLIPSE private->protected
-    protected boolean lazyInitDone=true;
+    // GRECLIPSE private->protected, +volatile
+    protected volatile boolean lazyInitDone=true;
     // not null if if the ClassNode is an array
     // GRECLIPSE private->protected
     protected ClassNode componentType = null;
@@ -362,6 +362,21 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
         }
     }
 
+    // GRECLIPSE add
+    /**
+     * Kinds of members for {@link #lazyClassInit(int)}.
+     */
+    protected static final int LAZY_SUPERTYPES = 0x1, LAZY_METHODS = 0x2, LAZY_FIELDS = 0x4;
+
+    /**
+     * Initializes the given kinds of members.  Subclasses that can build each
+     * kind separately override this; by default the whole class is initialized.
+     */
+    protected void lazyClassInit(int kinds) {
+        lazyClassInit();
+    }
+    // GRECLIPSE end
+
     // added to track the enclosing method for local inner classes
     private MethodNode enclosingMethod = null;
 
@@ -441,7 +456,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
      * @return the list of FieldNode's associated with this ClassNode
      */
     public List<FieldNode> getFields() {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_FIELDS);
+        // GRECLIPSE end
         if (redirect!=null) return redirect().getFields();
         if (fields == null)
             fields = new LinkedList<FieldNode>();
@@ -452,7 +470,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
      * @return the array of interfaces which this ClassNode implements
      */
     public ClassNode[] getInterfaces() {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         // GRECLIPSE add
         if (hasInconsistentHierarchy()) return EMPTY_ARRAY;
         // GRECLIPSE end
@@ -479,7 +500,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
      * @return the list of methods associated with this ClassNode
      */
     public List<MethodNode> getMethods() {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         if (redirect!=null) return redirect().getMethods();
         return methodsList;
     }
@@ -573,7 +597,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
     }
 
     public List<ConstructorNode> getDeclaredConstructors() {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         final ClassNode r = redirect();
         if (r.constructors == null)
             r.constructors = new ArrayList<ConstructorNode>();
@@ -839,7 +866,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
      * @return the method matching the given name and parameters or null
      */
     public FieldNode getDeclaredField(String name) {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_FIELDS);
+        // GRECLIPSE end
         ClassNode r = redirect();
         if (r.fieldIndex == null)
             r.fieldIndex = new LinkedHashMap<String,FieldNode>();
@@ -969,7 +999,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
      * @see #getMethods(String)
      */
     public List<MethodNode> getDeclaredMethods(String name) {
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         if (redirect!=null) return redirect().getDeclaredMethods(name);
         return methods.getNotNull(name);
     }
@@ -1111,7 +1144,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
         }
         // GRECLIPSE end
         if (!useRedirect) return superClass;
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         return redirect().superClass;
     }
 
@@ -1130,7 +1166,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes {
         }
         // GRECLIPSE end
         if (!useRedirect) return interfaces;
-        if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        // GRECLIPSE edit
+        //if (!redirect().lazyInitDone) redirect().lazyClassInit();
+        if (!redirect().lazyInitDone) redirect().lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         return redirect().interfaces;
     }
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.transform.stc;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.tools.WideningCategories.LowestUpperBoundClassNode;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
+
+/**
+ * Memoizes the results of {@link StaticTypeCheckingVisitor#findMethod} for a
+ * compilation unit.  Entries are keyed by method name, receiver type, argument
+ * types (including generics) and whether the call is inside a closure.
+ * <p>
+ * Receivers that are being compiled are never memoized, since their methods
+ * may still change.  Extension methods are registered per transform loader,
+ * so the memo is dropped when the transform loader of the unit changes.
+ * <p>
+ * Disabled by the system property {@code greclipse.stc.disableMethodCache}.
+ */
+class MethodSelectionCache {
+
+    private static final boolean DISABLED = Boolean.getBoolean("greclipse.stc.disableMethodCache");
+
+    private static final Map<CompilationUnit, MethodSelectionCache> caches =
+        Collections.synchronizedMap(new WeakHashMap<CompilationUnit, MethodSelectionCache>());
+
+    /**
+     * @return the memo of the given compilation unit, or {@code null} if
+     *     memoization is disabled or there is no compilation unit
+     */
+    static MethodSelectionCache forCompilationUnit(CompilationUnit unit, ClassLoader transformLoader) {
+        if (DISABLED || unit == null) {
+            return null;
+        }
+        synchronized (caches) {
+            MethodSelectionCache cache = caches.get(unit);
+            if (cache == null) {
+                cache = new MethodSelectionCache();
+                caches.put(unit, cache);
+            }
+            cache.checkLoader(transformLoader);
+            return cache;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final ConcurrentMap<String, List<MethodNode>> selections = new ConcurrentHashMap<String, List<MethodNode>>();
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+    private volatile ClassLoader loader;
+
+    private void checkLoader(ClassLoader transformLoader) {
+        if (loader != transformLoader) {
+            loader = transformLoader;
+            selections.clear();
+        }
+    }
+
+    /**
+     * @return key for the method selection, or {@code null} if the selection
+     *     cannot be memoized
+     */
+    String key(ClassNode receiver, String name, ClassNode[] args, boolean inClosure) {
+        if (!isMemoizable(receiver) || receiver.getCompileUnit() != null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(name);
+        sb.append(inClosure ? '{' : '(');
+        sb.append(receiver.toString(true));
+        if (args != null) {
+            for (ClassNode arg : args) {
+                if (!isMemoizable(arg)) {
+                    return null;
+                }
+                sb.append(';').append(arg.toString(true));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isMemoizable(ClassNode type) {
+        // union and lowest upper bound types are synthesized per expression
+        return (type != null && !(type instanceof LowestUpperBoundClassNode) && !(type instanceof UnionTypeClassNode));
+    }
+
+    List<MethodNode> get(String key) {
+        long start = System.nanoTime();
+        List<MethodNode> methods = selections.get(key);
+        if (methods != null) {
+            hits.incrementAndGet();
+            GroovyMetrics.metrics.record(GroovyMetrics.Category.METHOD_SELECTION, "hit", System.nanoTime() - start);
+        }
+        return methods;
+    }
+
+    List<MethodNode> put(String key, List<MethodNode> methods, long nanos) {
+        methods = Collections.unmodifiableList(methods);
+        selections.putIfAbsent(key, methods);
+        misses.incrementAndGet();
+        GroovyMetrics.metrics.record(GroovyMetrics.Category.METHOD_SELECTION, "miss", nanos);
+        return methods;
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+}
@@ -104,4 +104,12 @@ public class LocationSupport {
     public boolean isPopulated() {
         return (lineEndings.length > 0);
     }
+
+    /**
+     * @return copy of the offsets of the line endings; the last element is the
+     *     end of the file
+     */
+    public int[] getLineEndings() {
+        return lineEndings.clone();
+    }
 }
@@ -44,6 +44,7 @@ import org.codehaus.groovy.control.io.ReaderSource;
 import org.codehaus.groovy.control.messages.ExceptionMessage;
 import org.codehaus.groovy.control.messages.Message;
 import org.codehaus.groovy.control.messages.SimpleMessage;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
 import org.codehaus.groovy.syntax.SyntaxException;
 import org.codehaus.groovy.tools.GroovyClass;
 import org.codehaus.groovy.transform.ASTTransformationVisitor;
@@ -61,6 +62,7 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -583,6 +585,9 @@ public class CompilationUnit extends ProcessingUnit {
         throughPhase = Math.min(throughPhase, Phases.ALL);
 
         while (throughPhase >= phase && phase <= Phases.ALL) {
+            // GRECLIPSE add
+            long stime = System.nanoTime();
+            // GRECLIPSE end
 
             if (phase == Phases.SEMANTIC_ANALYSIS) {
                 doPhaseOperation(resolve);
@@ -592,6 +597,9 @@ public class CompilationUnit extends ProcessingUnit {
             processPhaseOperations(phase);
             // Grab processing may have brought in new AST transforms into various phases, process them as well
             processNewPhaseOperations(phase);
+            // GRECLIPSE add
+            GroovyMetrics.metrics.record(GroovyMetrics.Category.PHASE, Phases.getDescription(phase), System.nanoTime() - stime);
+            // GRECLIPSE end
 
             if (progressCallback != null) progressCallback.call(this, phase);
             completePhase();
@@ -1279,5 +1287,23 @@ public class CompilationUnit extends ProcessingUnit {
      * See bug https://jira.codehaus.org/browse/GRECLIPSE-1762
      */
     public final String excludeGlobalASTScan;
+
+    /**
+     * How local AST transforms are applied by a reconciling compile.
+     */
+    public enum ReconcilePolicy {
+        /** Run the transform as in a full build. */
+        RUN,
+        /** Run the transform but replace the bodies of the methods it adds with empty blocks. */
+        SIGNATURE_ONLY,
+        /** Do not run the transform. */
+        SKIP
+    }
+
+    /**
+     * Reconcile policies keyed by transform class name or by annotation type
+     * name.  Transforms that are not mapped are run.
+     */
+    public Map<String, ReconcilePolicy> transformReconcilePolicies = Collections.emptyMap();
   // GRECLIPSE end
 }
@@ -26,6 +26,9 @@ import org.codehaus.groovy.ast.AnnotatedNode;
 import org.codehaus.groovy.ast.AnnotationNode;
 import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
 import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
 import org.codehaus.groovy.classgen.GeneratorContext;
 import org.codehaus.groovy.control.ASTTransformationsContext;
 import org.codehaus.groovy.control.CompilationFailedException;
@@ -36,6 +39,7 @@ import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.messages.SimpleMessage;
 import org.codehaus.groovy.control.messages.WarningMessage;
 import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.syntax.SyntaxException;
 
@@ -48,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -55,6 +60,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 /**
  * This class handles the invocation of the ASTAnnotationTransformation
@@ -150,6 +156,9 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
             for (ASTNode[] node : targetNodes) {
                 for (ASTTransformation snt : transforms.get(node[0])) {
                     // GRECLIPSE add
+                    CompilationUnit.ReconcilePolicy policy = getReconcilePolicy(snt, node[0]);
+                    if (policy == CompilationUnit.ReconcilePolicy.SKIP) continue;
+                    Set<MethodNode> existingMethods = (policy == CompilationUnit.ReconcilePolicy.SIGNATURE_ONLY && source != null ? getMethods(source.getAST()) : null);
                     try {
                         long stime = System.nanoTime();
                         boolean okToSet = (source != null && source.getErrorCollector() != null);
@@ -163,12 +172,16 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                     }
                     snt.visit(node, source);
                     // GRECLIPSE add
+                            if (existingMethods != null) {
+                                removeBodiesOfAddedMethods(source.getAST(), existingMethods);
+                            }
                         } finally {
                             if (okToSet) {
                                 source.getErrorCollector().transformActive = false;
                             }
                         }
                         long etime = System.nanoTime(); 
+                        GroovyMetrics.metrics.record(GroovyMetrics.Category.LOCAL_TRANSFORM, snt.getClass().getName(), etime - stime);
                         if (GroovyLogManager.manager.hasLoggers()) {
                             try {
                                 GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM, "Local transform " + snt.getClass().getName() + " on " + classNode.getName() + ":" + node[1] + " = " + ((etime - stime) / 1000000) + "ms");
@@ -189,6 +202,47 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         }
     }
 
+    // GRECLIPSE add
+    private CompilationUnit.ReconcilePolicy getReconcilePolicy(ASTTransformation transform, ASTNode annotation) {
+        CompilationUnit unit = context.getCompilationUnit();
+        if (unit != null && unit.isReconcile && !unit.transformReconcilePolicies.isEmpty()) {
+            CompilationUnit.ReconcilePolicy policy = unit.transformReconcilePolicies.get(transform.getClass().getName());
+            if (policy == null && annotation instanceof AnnotationNode) {
+                policy = unit.transformReconcilePolicies.get(((AnnotationNode) annotation).getClassNode().getName());
+            }
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return CompilationUnit.ReconcilePolicy.RUN;
+    }
+
+    private static Set<MethodNode> getMethods(ModuleNode module) {
+        Set<MethodNode> methods = Collections.newSetFromMap(new IdentityHashMap<MethodNode, Boolean>());
+        for (ClassNode classNode : module.getClasses()) {
+            methods.addAll(classNode.getMethods());
+            methods.addAll(classNode.getDeclaredConstructors());
+        }
+        return methods;
+    }
+
+    /**
+     * Keeps the signatures of members added by a transform, which inferencing
+     * and content assist need, but drops their generated implementations.
+     */
+    private static void removeBodiesOfAddedMethods(ModuleNode module, Set<MethodNode> existingMethods) {
+        for (ClassNode classNode : module.getClasses()) {
+            List<MethodNode> methods = new ArrayList<MethodNode>(classNode.getMethods());
+            methods.addAll(classNode.getDeclaredConstructors());
+            for (MethodNode method : methods) {
+                if (!existingMethods.contains(method) && method.getCode() != null) {
+                    method.setCode(new BlockStatement());
+                }
+            }
+        }
+    }
+    // GRECLIPSE end
+
     /**
      * Adds the annotation to the internal target list if a match is found.
      *
@@ -250,9 +304,20 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         ensureGlobalTransformsAllowedInReconcileInitialized();
         // GRECLIPSE end
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
+        /* GRECLIPSE edit -- reuse the scan made for a previous compilation unit
         Map<String, URL> transformNames = new LinkedHashMap<String, URL>();
+        */
+        String scanKey = (isFirstScan ? getGlobalTransformsScanKey(compilationUnit) : null);
+        Map<String, URL> cachedNames = getCachedGlobalTransforms(transformLoader, scanKey);
+        Map<String, URL> transformNames = (cachedNames != null ? new LinkedHashMap<String, URL>(cachedNames) : new LinkedHashMap<String, URL>());
+        int problemCount = compilationUnit.getErrorCollector().getErrorCount() + compilationUnit.getErrorCollector().getWarningCount();
+        // GRECLIPSE end
         try {
-            Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+            // GRECLIPSE edit
+            //Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+            Enumeration<URL> globalServices = (cachedNames != null ? Collections.<URL>emptyEnumeration() :
+                transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation"));
+            // GRECLIPSE end
             while (globalServices.hasMoreElements()) {
                 URL service = globalServices.nextElement();
                 String className;
@@ -321,6 +386,12 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                 "IO Exception attempting to load global transforms:" + e.getMessage(),
                 null));
         }
+        // GRECLIPSE add
+        // scans that reported problems are repeated so that the problems are reported for each unit
+        if (cachedNames == null && scanKey != null && problemCount == compilationUnit.getErrorCollector().getErrorCount() + compilationUnit.getErrorCollector().getWarningCount()) {
+            cacheGlobalTransforms(transformLoader, scanKey, transformNames);
+        }
+        // GRECLIPSE end
 
         // record the transforms found in the first scan, so that in the 2nd scan, phase operations 
         // can be added for only for new transforms that have come in 
@@ -364,6 +435,52 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         return false;
     }
 
+    /**
+     * Global transform names (and the service files that declare them) found
+     * by the first scan of each transform loader.  Keyed by loader identity and
+     * then by the settings that filter the scan.
+     */
+    private static final Map<GroovyClassLoader, Map<String, Map<String, URL>>> globalTransformsCache =
+        Collections.synchronizedMap(new WeakHashMap<GroovyClassLoader, Map<String, Map<String, URL>>>());
+
+    /**
+     * Discards the global transforms found for the given transform loader, or
+     * for all loaders if {@code null}.  Called when a project's loaders are
+     * reset, since a loader may be kept while its service files change.
+     */
+    public static void clearGlobalTransformsCache(GroovyClassLoader transformLoader) {
+        if (transformLoader == null) {
+            globalTransformsCache.clear();
+        } else {
+            globalTransformsCache.remove(transformLoader);
+        }
+    }
+
+    private static String getGlobalTransformsScanKey(CompilationUnit compilationUnit) {
+        Set<String> disabledGlobalTransforms = compilationUnit.getConfiguration().getDisabledGlobalASTTransformations();
+        return compilationUnit.allowTransforms + "|" + compilationUnit.excludeGlobalASTScan + "|" +
+            (disabledGlobalTransforms == null ? "" : new TreeSet<String>(disabledGlobalTransforms).toString());
+    }
+
+    private static Map<String, URL> getCachedGlobalTransforms(GroovyClassLoader transformLoader, String scanKey) {
+        if (scanKey == null) return null;
+        synchronized (globalTransformsCache) {
+            Map<String, Map<String, URL>> scans = globalTransformsCache.get(transformLoader);
+            return (scans != null ? scans.get(scanKey) : null);
+        }
+    }
+
+    private static void cacheGlobalTransforms(GroovyClassLoader transformLoader, String scanKey, Map<String, URL> transformNames) {
+        synchronized (globalTransformsCache) {
+            Map<String, Map<String, URL>> scans = globalTransformsCache.get(transformLoader);
+            if (scans == null) {
+                scans = new HashMap<String, Map<String, URL>>();
+                globalTransformsCache.put(transformLoader, scans);
+            }
+            scans.put(scanKey, Collections.unmodifiableMap(new LinkedHashMap<String, URL>(transformNames)));
+        }
+    }
+
     private static Set<String> globalTransformsAllowedInReconcile = null;
 
     private static void ensureGlobalTransformsAllowedInReconcileInitialized() {
@@ -428,6 +545,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                                     }
                                 }
                                 long etime = System.nanoTime(); 
+                                GroovyMetrics.metrics.record(GroovyMetrics.Category.GLOBAL_TRANSFORM, instance.getClass().getName(), etime - stime);
                                 if (GroovyLogManager.manager.hasLoggers()) {
                                     long timetaken = (etime - stime) / 1000000;
                                     if (timetaken > 0) {
@@ -4175,6 +4175,22 @@ public class StaticTypeCheckingVisitor extends ClassCodeVisitorSupport {
     protected List<MethodNode> findMethod(
             ClassNode receiver, String name, ClassNode... args) {
         if (isPrimitiveType(receiver)) receiver = getWrapper(receiver);
+        // GRECLIPSE add -- memoize method selection per compilation unit
+        MethodSelectionCache cache = MethodSelectionCache.forCompilationUnit(typeCheckingContext.getCompilationUnit(), getTransformLoader());
+        String key = (cache == null ? null : cache.key(receiver, name, args, typeCheckingContext.getEnclosingClosure() != null));
+        if (key == null) {
+            return selectMethod(receiver, name, args);
+        }
+        List<MethodNode> methods = cache.get(key);
+        if (methods == null) {
+            long start = System.nanoTime();
+            methods = cache.put(key, selectMethod(receiver, name, args), System.nanoTime() - start);
+        }
+        return methods;
+    }
+
+    private List<MethodNode> selectMethod(ClassNode receiver, String name, ClassNode... args) {
+        // GRECLIPSE end
         List<MethodNode> methods;
         if (!receiver.isInterface() && "<init>".equals(name)) {
             methods = addGeneratedMethods(receiver,new ArrayList<MethodNode>(receiver.getDeclaredConstructors()));
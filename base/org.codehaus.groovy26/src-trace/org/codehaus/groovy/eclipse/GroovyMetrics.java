@@ -0,0 +1,179 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects durations of compiler activities, such as AST transforms and
+ * compilation unit phases, so they can be queried programmatically or dumped.
+ * <p>
+ * Collection is off unless enabled by {@link #setEnabled(boolean)} or by the
+ * system property {@code greclipse.metrics}.
+ *
+ * NOTE: This class is a singleton.
+ */
+public class GroovyMetrics {
+    public static final GroovyMetrics metrics = new GroovyMetrics();
+
+    public enum Category {
+        LOCAL_TRANSFORM, GLOBAL_TRANSFORM, PHASE, METHOD_SELECTION
+    }
+
+    private volatile boolean enabled;
+
+    private final Map<Category, ConcurrentMap<String, Timer>> timers = new EnumMap<Category, ConcurrentMap<String, Timer>>(Category.class);
+
+    private GroovyMetrics() {
+        for (Category category : Category.values()) {
+            timers.put(category, new ConcurrentHashMap<String, Timer>());
+        }
+        enabled = Boolean.getBoolean("greclipse.metrics");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records one occurrence of an activity; does nothing if collection is off.
+     */
+    public void record(Category category, String name, long nanos) {
+        if (enabled) {
+            ConcurrentMap<String, Timer> map = timers.get(category);
+            Timer timer = map.get(name);
+            if (timer == null) {
+                Timer newTimer = new Timer(name);
+                timer = map.putIfAbsent(name, newTimer);
+                if (timer == null) timer = newTimer;
+            }
+            timer.record(nanos);
+        }
+    }
+
+    /**
+     * @return timers of the category, in decreasing order of total duration
+     */
+    public List<Timer> getTimers(Category category) {
+        List<Timer> list = new ArrayList<Timer>(timers.get(category).values());
+        Collections.sort(list, new Comparator<Timer>() {
+            @Override
+            public int compare(Timer one, Timer two) {
+                long a = one.getTotalNanos(), b = two.getTotalNanos();
+                return (a < b ? 1 : (a == b ? 0 : -1));
+            }
+        });
+        return list;
+    }
+
+    public Timer getTimer(Category category, String name) {
+        return timers.get(category).get(name);
+    }
+
+    public void reset() {
+        for (ConcurrentMap<String, Timer> map : timers.values()) {
+            map.clear();
+        }
+    }
+
+    public void dump(PrintWriter out) {
+        for (Category category : Category.values()) {
+            List<Timer> list = getTimers(category);
+            if (!list.isEmpty()) {
+                out.println("Groovy compiler metrics: " + category);
+                out.println(String.format("%10s %12s %10s %10s %10s %10s  %s", "count", "total(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "name"));
+                for (Timer timer : list) {
+                    out.println(timer);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Count, total and maximum duration of an activity.  Percentiles are
+     * estimated from the most recent {@value #SAMPLES} durations.
+     */
+    public static class Timer {
+        private static final int SAMPLES = 1024;
+
+        private final String name;
+        private final long[] samples = new long[SAMPLES];
+        private long count, total, max;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (count % SAMPLES)] = nanos;
+            count += 1;
+            total += nanos;
+            if (nanos > max) max = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalNanos() {
+            return total;
+        }
+
+        public synchronized long getMaxNanos() {
+            return max;
+        }
+
+        /**
+         * @param percentile value between 0 and 100
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count == 0) return 0;
+                sorted = Arrays.copyOf(samples, (int) Math.min(count, SAMPLES));
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%10d %12.1f %10.1f %10.1f %10.1f %10.1f  %s", getCount(), getTotalNanos() / 1e6,
+                getPercentileNanos(50) / 1e6, getPercentileNanos(90) / 1e6, getPercentileNanos(99) / 1e6, getMaxNanos() / 1e6, name);
+        }
+    }
+}
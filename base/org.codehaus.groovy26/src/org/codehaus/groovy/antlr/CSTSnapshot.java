@@ -0,0 +1,49 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.antlr;
+
+import java.util.List;
+
+import org.codehaus.groovy.ast.Comment;
+
+/**
+ * Results of parsing a source text: the antlr AST before any processing, the
+ * comments and the line endings.
+ */
+public class CSTSnapshot {
+
+    private final GroovySourceAST ast;
+    private final List<Comment> comments;
+    private final LocationSupport locations;
+
+    public CSTSnapshot(GroovySourceAST ast, List<Comment> comments, LocationSupport locations) {
+        this.ast = ast;
+        this.comments = comments;
+        this.locations = locations;
+    }
+
+    public GroovySourceAST getAST() {
+        return ast;
+    }
+
+    public List<Comment> getComments() {
+        return comments;
+    }
+
+    public LocationSupport getLocations() {
+        return locations;
+    }
+}
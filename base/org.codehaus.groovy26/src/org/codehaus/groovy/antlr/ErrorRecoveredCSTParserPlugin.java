@@ -49,6 +49,22 @@ public class ErrorRecoveredCSTParserPlugin extends AntlrParserPlugin {
 
         setController(sourceUnit);
 
+        // editor buffers change with every keystroke; only builds and searches use snapshots
+        boolean useSnapshots = (sourceUnit instanceof ICSTSnapshotSupport && !sourceUnit.isReconcile);
+        if (useSnapshots) {
+            CSTSnapshot snapshot = ((ICSTSnapshotSupport) sourceUnit).loadSnapshot();
+            if (snapshot != null) {
+                super.ast = snapshot.getAST();
+                super.tokenNames = GroovyRecognizer._tokenNames;
+                super.locations = snapshot.getLocations();
+                sourceUnit.setComments(snapshot.getComments());
+                if (reporter != null) {
+                    reporter.generatedCST(sourceUnit.getName(), snapshot.getAST());
+                }
+                return;
+            }
+        }
+
         // GRECLIPSE-805 Support for unicode escape sequences
         UnicodeEscapingReader unicodeReader = new UnicodeEscapingReader(reader, sourceBuffer);
         GroovyLexer lexer = new GroovyLexer(new UnicodeLexerSharedInputState(unicodeReader));
@@ -111,6 +127,11 @@ public class ErrorRecoveredCSTParserPlugin extends AntlrParserPlugin {
 
         sourceUnit.setComments(parser.getComments());
         reportCST(sourceUnit, parser);
+
+        if (useSnapshots && super.ast instanceof GroovySourceAST &&
+                parser.getErrorList().isEmpty() && !sourceUnit.getErrorCollector().hasErrors()) {
+            ((ICSTSnapshotSupport) sourceUnit).storeSnapshot(new CSTSnapshot((GroovySourceAST) super.ast, parser.getComments(), locations));
+        }
     }
 
     private void reportCST(final SourceUnit sourceUnit, final GroovyRecognizer parser) {
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.antlr;
+
+/**
+ * Implemented by source units whose parse results can be kept and reused.  If
+ * a snapshot is available, {@link ErrorRecoveredCSTParserPlugin} uses it instead
+ * of parsing the source text.
+ */
+public interface ICSTSnapshotSupport {
+
+    /**
+     * @return snapshot of an earlier error-free parse of the same source text,
+     *     or {@code null} if there is none
+     */
+    CSTSnapshot loadSnapshot();
+
+    /**
+     * Keeps the results of an error-free parse.  The snapshot must be copied
+     * before returning, since the AST and comments are modified by the later
+     * phases of the compilation.
+     */
+    void storeSnapshot(CSTSnapshot snapshot);
+}
@@ -360,6 +360,21 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
         }
     }
 
+    // GRECLIPSE add
+    /**
+     * Kinds of members for {@link #lazyClassInit(int)}.
+     */
+    protected static final int LAZY_SUPERTYPES = 0x1, LAZY_METHODS = 0x2, LAZY_FIELDS = 0x4;
+
+    /**
+     * Initializes the given kinds of members.  Subclasses that can build each
+     * kind separately override this; by default the whole class is initialized.
+     */
+    protected void lazyClassInit(int kinds) {
+        lazyClassInit();
+    }
+    // GRECLIPSE end
+
     // added to track the enclosing method for local inner classes
     private MethodNode enclosingMethod = null;
 
@@ -440,7 +455,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
      */
     public List<FieldNode> getFields() {
         if (redirect!=null) return redirect().getFields();
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_FIELDS);
+        // GRECLIPSE end
         if (fields == null)
             fields = new LinkedList<FieldNode>();
         return fields;
@@ -454,7 +472,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
         if (hasInconsistentHierarchy()) return EMPTY_ARRAY;
         // GRECLIPSE end
         if (redirect!=null) return redirect().getInterfaces();
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         return interfaces;
     }
 
@@ -482,7 +503,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
      */
     public List<MethodNode> getMethods() {
         if (redirect!=null) return redirect().getMethods();
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         return methodsList;
     }
 
@@ -569,7 +593,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
 
     public List<ConstructorNode> getDeclaredConstructors() {
         if (redirect != null) return redirect().getDeclaredConstructors();
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         if (constructors == null)
             constructors = new ArrayList<ConstructorNode>();
         return constructors;
@@ -843,7 +870,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
     public FieldNode getDeclaredField(String name) {
         if (redirect != null) return redirect().getDeclaredField(name);
 
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_FIELDS);
+        // GRECLIPSE end
         return fieldIndex == null ? null : fieldIndex.get(name);
     }
 
@@ -971,7 +1001,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
      */
     public List<MethodNode> getDeclaredMethods(String name) {
         if (redirect!=null) return redirect().getDeclaredMethods(name);
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_METHODS);
+        // GRECLIPSE end
         return methods.getNotNull(name);
     }
 
@@ -1113,7 +1146,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
         // GRECLIPSE end
         if (!useRedirect) return superClass;
         if (redirect != null) return redirect().getUnresolvedSuperClass(true);
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         return superClass;
     }
 
@@ -1133,7 +1169,10 @@ public class ClassNode extends AnnotatedNode implements Opcodes, GroovydocHolder
         // GRECLIPSE end
         if (!useRedirect) return interfaces;
         if (redirect != null) return redirect().getUnresolvedInterfaces(true);
-        lazyClassInit();
+        // GRECLIPSE edit
+        //lazyClassInit();
+        lazyClassInit(LAZY_SUPERTYPES);
+        // GRECLIPSE end
         return interfaces;
     }
 
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.control;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import groovy.lang.GroovySystem;
+
+import org.codehaus.groovy.antlr.CSTSnapshot;
+import org.codehaus.groovy.antlr.GroovySourceAST;
+import org.codehaus.groovy.antlr.LocationSupport;
+import org.codehaus.groovy.ast.Comment;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.eclipse.jdt.groovy.core.Activator;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Keeps the parse results of Groovy sources on disk, so that the first build
+ * or search of an unchanged file after a restart does not have to lex and
+ * parse it again.  Snapshots are keyed by a hash of the source text, the
+ * parser-relevant compiler options and the Groovy version; any mismatch or
+ * read failure falls back to parsing.
+ * <p>
+ * Snapshots are serialized on the parse thread and written to disk by a single
+ * background thread; if it falls behind, further snapshots are dropped.  When
+ * the cache grows past its size limit, the least recently used snapshots are
+ * deleted.
+ * <p>
+ * Enabled by the system property {@code greclipse.cstSnapshots}; the size limit
+ * can be set with {@code greclipse.cstSnapshots.maxMegabytes}.
+ */
+public class CSTSnapshotCache {
+
+    private static final boolean ENABLED = Boolean.getBoolean("greclipse.cstSnapshots");
+
+    private static final long MAX_BYTES = Integer.getInteger("greclipse.cstSnapshots.maxMegabytes", 64) * 1024L * 1024L;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Number of snapshots that may wait to be written. */
+    private static final int MAX_PENDING_WRITES = 64;
+
+    private static final byte HAS_CHILD = 0x1, HAS_SIBLING = 0x2, HAS_TEXT = 0x4;
+
+    private static CSTSnapshotCache instance;
+
+    /**
+     * @return the workspace snapshot cache, or {@code null} if snapshots are
+     *     disabled or there is no workspace (i.e. batch compilation)
+     */
+    public static synchronized CSTSnapshotCache getInstance() {
+        if (instance == null && ENABLED && Activator.getDefault() != null) {
+            instance = new CSTSnapshotCache(Activator.getDefault().getStateLocation().append("cst").toFile(), MAX_BYTES);
+        }
+        return instance;
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final File folder;
+    private final String version;
+    private final long maxBytes;
+    private final ThreadPoolExecutor writer;
+
+    /** Total size of the snapshot files; only accessed by the writer thread. */
+    private long size = -1;
+
+    /**
+     * Creates a cache in the given folder; {@link #getInstance()} should be
+     * used instead outside of tests.
+     */
+    public CSTSnapshotCache(File folder, long maxBytes) {
+        this.folder = folder;
+        this.maxBytes = maxBytes;
+        this.version = FORMAT_VERSION + ":" + GroovySystem.getVersion();
+        folder.mkdirs();
+
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING_WRITES), task -> {
+            Thread thread = new Thread(task, "Groovy CST Snapshot Writer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, (task, executor) -> {
+            // drop the snapshot; the source will be parsed again next time
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        });
+    }
+
+    /**
+     * @return the snapshot of an earlier parse of the given source text with the
+     *     given options, or {@code null} if there is none or it cannot be read
+     */
+    public CSTSnapshot load(String contents, CompilerConfiguration config) {
+        File file = new File(folder, key(contents, config));
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            DataInputStream input = new DataInputStream(stream);
+            if (!version.equals(input.readUTF())) {
+                throw new IOException("Snapshot version mismatch");
+            }
+            GroovySourceAST ast = readAST(input);
+            List<Comment> comments = readComments(input);
+            LocationSupport locations = readLocations(input);
+            file.setLastModified(System.currentTimeMillis()); // for eviction
+            return new CSTSnapshot(ast, comments, locations);
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given parse results to disk.  The snapshot is serialized before
+     * returning, so the AST and comments may be modified afterwards; the file is
+     * written in the background.
+     */
+    public void store(String contents, CompilerConfiguration config, CSTSnapshot snapshot) {
+        File file = new File(folder, key(contents, config));
+        if (file.isFile() || writer.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+            DataOutputStream output = new DataOutputStream(buffer);
+            output.writeUTF(version);
+            writeAST(output, snapshot.getAST());
+            writeComments(output, snapshot.getComments());
+            writeLocations(output, snapshot.getLocations());
+            output.flush();
+            bytes = buffer.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            // strings longer than 64K cannot be written; such sources are simply parsed each time
+            return;
+        }
+        writer.submit(() -> write(file, bytes));
+    }
+
+    /**
+     * Waits for the snapshots stored so far to be written; for testing.
+     */
+    public void flush() throws InterruptedException {
+        while (true) {
+            try {
+                writer.submit(() -> { }).get();
+                return;
+            } catch (CancellationException e) {
+                Thread.sleep(10); // queue is full
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Runs on the writer thread.
+     */
+    private void write(File file, byte[] bytes) {
+        if (size < 0) {
+            size = 0;
+            for (File f : listFiles()) {
+                size += f.length();
+            }
+        }
+        File temp = null;
+        try {
+            temp = File.createTempFile(file.getName(), ".tmp", folder);
+            Files.write(temp.toPath(), bytes);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            size += bytes.length;
+        } catch (IOException | RuntimeException e) {
+            if (temp != null) temp.delete();
+        }
+        if (size > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Deletes the least recently used snapshots until the cache is down to three
+     * quarters of its size limit, so that eviction does not run on every write.
+     * Runs on the writer thread.
+     */
+    private void evict() {
+        File[] files = listFiles();
+        long[] lastModified = new long[files.length];
+        Integer[] order = new Integer[files.length];
+        long total = 0;
+        for (int i = 0; i < files.length; i += 1) {
+            lastModified[i] = files[i].lastModified();
+            order[i] = i;
+            total += files[i].length();
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+
+        for (int i = 0; i < order.length && total > maxBytes * 3 / 4; i += 1) {
+            File file = files[order[i]];
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+        size = total;
+    }
+
+    private File[] listFiles() {
+        File[] files = folder.listFiles();
+        return (files != null ? files : new File[0]);
+    }
+
+    private String key(String contents, CompilerConfiguration config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(version.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(options(config).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(contents.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(40);
+            for (byte b : digest.digest()) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            Util.log(e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the compiler options that can change the result of a parse
+     */
+    private static String options(CompilerConfiguration config) {
+        StringBuilder options = new StringBuilder();
+        options.append(config.getPluginFactory().getClass().getName());
+        options.append(';').append(config.getSourceEncoding());
+        options.append(';').append(config.getTolerance());
+        options.append(';').append(new TreeMap<>(config.getOptimizationOptions()));
+        return options.toString();
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Writes the nodes in pre-order: each node is followed by its children and
+     * then by its next sibling.  Uses an explicit stack, since sibling chains
+     * can be very long.
+     */
+    private static void writeAST(DataOutputStream output, GroovySourceAST root) throws IOException {
+        Deque<GroovySourceAST> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            GroovySourceAST node = stack.pop();
+            GroovySourceAST child = (GroovySourceAST) node.getFirstChild();
+            GroovySourceAST sibling = (GroovySourceAST) node.getNextSibling();
+            String text = node.getText();
+
+            byte flags = 0;
+            if (child != null) flags |= HAS_CHILD;
+            if (sibling != null) flags |= HAS_SIBLING;
+            if (text != null) flags |= HAS_TEXT;
+            output.writeByte(flags);
+            output.writeShort(node.getType());
+            if (text != null) output.writeUTF(text);
+            output.writeInt(node.getLine());
+            output.writeInt(node.getColumn());
+            output.writeInt(node.getLineLast());
+            output.writeInt(node.getColumnLast());
+
+            if (sibling != null) stack.push(sibling);
+            if (child != null) stack.push(child);
+        }
+    }
+
+    private static GroovySourceAST readAST(DataInputStream input) throws IOException {
+        GroovySourceAST root = null, awaitingChild = null;
+        Deque<GroovySourceAST> awaitingSibling = new ArrayDeque<>();
+        while (true) {
+            byte flags = input.readByte();
+            GroovySourceAST node = new GroovySourceAST();
+            node.setType(input.readShort());
+            if ((flags & HAS_TEXT) != 0) node.setText(input.readUTF());
+            node.setLine(input.readInt());
+            node.setColumn(input.readInt());
+            node.setLineLast(input.readInt());
+            node.setColumnLast(input.readInt());
+
+            if (root == null) {
+                root = node;
+            } else if (awaitingChild != null) {
+                awaitingChild.setFirstChild(node);
+                awaitingChild = null;
+            } else {
+                awaitingSibling.pop().setNextSibling(node);
+            }
+
+            if ((flags & HAS_SIBLING) != 0) {
+                awaitingSibling.push(node);
+            }
+            if ((flags & HAS_CHILD) != 0) {
+                awaitingChild = node;
+            } else if (awaitingSibling.isEmpty()) {
+                return root;
+            }
+        }
+    }
+
+    private static void writeComments(DataOutputStream output, List<Comment> comments) throws IOException {
+        output.writeInt(comments.size());
+        for (Comment comment : comments) {
+            String text = comment.toString();
+            output.writeBoolean(text.startsWith("//"));
+            output.writeInt(comment.sline);
+            output.writeInt(comment.scol);
+            output.writeInt(comment.eline);
+            output.writeInt(comment.ecol);
+            output.writeUTF(text);
+        }
+    }
+
+    private static List<Comment> readComments(DataInputStream input) throws IOException {
+        int n = input.readInt();
+        List<Comment> comments = new ArrayList<>(n);
+        for (int i = 0; i < n; i += 1) {
+            boolean isSingleLine = input.readBoolean();
+            int sline = input.readInt(), scol = input.readInt(), eline = input.readInt(), ecol = input.readInt();
+            String text = input.readUTF();
+            comments.add(isSingleLine
+                ? Comment.makeSingleLineComment(sline, scol, eline, ecol, text)
+                : Comment.makeMultiLineComment(sline, scol, eline, ecol, text));
+        }
+        return comments;
+    }
+
+    private static void writeLocations(DataOutputStream output, LocationSupport locations) throws IOException {
+        int[] lineEndings = locations.getLineEndings();
+        output.writeInt(lineEndings.length);
+        for (int lineEnding : lineEndings) {
+            output.writeInt(lineEnding);
+        }
+    }
+
+    private static LocationSupport readLocations(DataInputStream input) throws IOException {
+        int[] lineEndings = new int[input.readInt()];
+        for (int i = 0; i < lineEndings.length; i += 1) {
+            lineEndings[i] = input.readInt();
+        }
+        return new LocationSupport(lineEndings);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@ package org.codehaus.jdt.groovy.control;
 
 import groovy.lang.GroovyClassLoader;
 
+import org.codehaus.groovy.antlr.CSTSnapshot;
+import org.codehaus.groovy.antlr.ICSTSnapshotSupport;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.ErrorCollector;
@@ -30,16 +32,19 @@ import org.eclipse.core.resources.IFile;
  *
  * @since 2.5.2
  */
-public class EclipseSourceUnit extends SourceUnit {
+public class EclipseSourceUnit extends SourceUnit implements ICSTSnapshotSupport {
 
     final private IFile file;
     final public JDTResolver resolver;
+    final private String contents;
+    private CSTSnapshotCache snapshotCache;
 
     public EclipseSourceUnit(IFile resource, String filepath, String string, CompilerConfiguration groovyCompilerConfig,
             GroovyClassLoader classLoader, ErrorCollector errorCollector, JDTResolver resolver) {
         super(filepath, string, groovyCompilerConfig, classLoader, errorCollector);
         this.file = resource;
         this.resolver = resolver;
+        this.contents = string;
     }
 
     /**
@@ -49,6 +54,25 @@ public class EclipseSourceUnit extends SourceUnit {
         return file;
     }
 
+    /**
+     * Sets the cache that parse results of this source are kept in; may be {@code null}.
+     */
+    public void setSnapshotCache(CSTSnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Override
+    public CSTSnapshot loadSnapshot() {
+        return (snapshotCache != null ? snapshotCache.load(contents, getConfiguration()) : null);
+    }
+
+    @Override
+    public void storeSnapshot(CSTSnapshot snapshot) {
+        if (snapshotCache != null) {
+            snapshotCache.store(contents, getConfiguration(), snapshot);
+        }
+    }
+
     @Override
     public void convert() throws CompilationFailedException {
         super.convert();
@@ -17,6 +17,7 @@ package org.codehaus.jdt.groovy.integration.internal;
 
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.codehaus.jdt.groovy.internal.compiler.ast.ResolutionFailureCache;
 import org.eclipse.jdt.internal.core.JavaProject;
 
 public class GroovyEventHandler implements EventHandler {
@@ -24,10 +25,13 @@ public class GroovyEventHandler implements EventHandler {
     // Recognized events:
     // "close" - called when a java project is closed
     // "cleanOutputFolders" - called when a clean occurs (either when forced or when part of a full build)
+    // "build" - called when a java project starts building
     @Override
     public void handle(JavaProject javaProject, String event) {
         if (javaProject != null && event.matches("close|cleanOutputFolders")) {
             GroovyParser.clearCache(javaProject.getElementName());
+        } else if (javaProject != null && event.equals("build")) {
+            ResolutionFailureCache.INSTANCE.clear(javaProject.getElementName());
         }
     }
 }
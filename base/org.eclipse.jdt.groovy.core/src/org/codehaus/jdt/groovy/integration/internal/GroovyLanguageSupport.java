@@ -16,6 +16,7 @@
 package org.codehaus.jdt.groovy.integration.internal;
 
 import java.io.File;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -31,6 +32,7 @@ import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.Phases;
 import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.integration.ISupplementalIndexer;
 import org.codehaus.jdt.groovy.integration.LanguageSupport;
@@ -56,6 +58,7 @@ import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.ParallelMatchLocator;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.eclipse.jdt.groovy.search.TypeRequestorFactory;
@@ -240,6 +243,14 @@ public class GroovyLanguageSupport implements LanguageSupport {
         return false;
     }
 
+    @Override
+    public DelegatedSearch prepareDelegatedSearch(PossibleMatch[] possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor) {
+        if (ParallelMatchLocator.isEnabled() && possibleMatches.length > 1) {
+            return new ParallelMatchLocator(possibleMatches, pattern, requestor, monitor);
+        }
+        return null;
+    }
+
     @Override
     public EventHandler getEventHandler() {
         // FIXASC could be une singleton?
@@ -322,4 +333,17 @@ public class GroovyLanguageSupport implements LanguageSupport {
     public ISupplementalIndexer getSupplementalIndexer() {
         return new BinaryGroovySupplementalIndexer();
     }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled && !GroovyMetrics.metrics.isEnabled()) {
+            GroovyMetrics.metrics.reset();
+        }
+        GroovyMetrics.metrics.setEnabled(enabled);
+    }
+
+    @Override
+    public void printMetrics(PrintWriter out) {
+        GroovyMetrics.metrics.dump(out);
+    }
 }
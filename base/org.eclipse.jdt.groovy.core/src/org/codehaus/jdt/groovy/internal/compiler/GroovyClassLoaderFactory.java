@@ -38,6 +38,7 @@ import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.runtime.m12n.ExtensionModuleScanner;
 import org.codehaus.groovy.runtime.m12n.SimpleExtensionModule;
+import org.codehaus.groovy.transform.ASTTransformationVisitor;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -70,6 +71,7 @@ public final class GroovyClassLoaderFactory {
 
     public static void clearCache() {
         projectClassLoaderCache.clear(); // TODO: Close class loaders?
+        ASTTransformationVisitor.clearGlobalTransformsCache(null);
     }
 
     public static void clearCache(String projectName) {
@@ -89,6 +91,7 @@ public final class GroovyClassLoaderFactory {
         }
         if (classLoader instanceof GroovyClassLoader) {
             ((GroovyClassLoader) classLoader).clearCache();
+            ASTTransformationVisitor.clearGlobalTransformsCache((GroovyClassLoader) classLoader);
         }
         if (classLoader.getParent() instanceof URLClassLoader) {
             close(classLoader.getParent());
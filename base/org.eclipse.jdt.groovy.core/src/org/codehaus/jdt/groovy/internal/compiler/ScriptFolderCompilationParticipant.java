@@ -15,12 +15,17 @@
  */
 package org.codehaus.jdt.groovy.internal.compiler;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IContainer;
@@ -80,8 +85,10 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
                 return;
             }
 
-            ScriptFolderSelector selector = new ScriptFolderSelector(iproject);
-            Map<IContainer, IContainer> sourceToOut = generateSourceToOut(project);
+            ScriptFolderSelector selector = GroovyParser.getScriptFolderSelector(iproject);
+            Map<IContainer, IContainer> sourceToOut = getSourceToOut(project);
+            // output folders that have been checked or created by this build
+            Set<IContainer> outputFolders = new HashSet<>();
             for (BuildContext compiledFile : compiledFiles) {
                 IFile file = compiledFile.getFile();
                 if (selector.getFileKind(file) == FileKind.SCRIPT) {
@@ -92,7 +99,7 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
                     if (containingSourceFolder != null) {
                         IPath packagePath = findPackagePath(filePath, containingSourceFolder);
                         IContainer out = sourceToOut.get(containingSourceFolder);
-                        copyFile(file, packagePath, out);
+                        copyFile(file, packagePath, out, outputFolders);
                     }
                 }
             }
@@ -190,8 +197,11 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
         return null;
     }
 
-    private void copyFile(IFile file, IPath packagePath, IContainer outputFolder) throws CoreException {
-        IContainer createdFolder = createFolder(packagePath, outputFolder, true);
+    private void copyFile(IFile file, IPath packagePath, IContainer outputFolder, Set<IContainer> outputFolders) throws CoreException {
+        IContainer createdFolder = (packagePath.isEmpty() ? outputFolder : outputFolder.getFolder(packagePath));
+        if (outputFolders.add(createdFolder)) {
+            createFolder(packagePath, outputFolder, true);
+        }
         IFile toFile = createdFolder.getFile(new Path(file.getName()));
         if (toFile.exists()) {
             toFile.delete(true, null);
@@ -226,7 +236,43 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
         return folder;
     }
 
-    private Map<IContainer, IContainer> generateSourceToOut(IJavaProject project) throws JavaModelException {
+    /**
+     * @return the source to output folder mapping of the project; computed
+     *     again only if the raw classpath or default output location changed
+     */
+    private static Map<IContainer, IContainer> getSourceToOut(IJavaProject project) throws JavaModelException {
+        IClasspathEntry[] classpath = project.getRawClasspath();
+        IPath outputLocation = project.getOutputLocation();
+        SourceToOut cached = sourceToOutCache.get(project.getElementName());
+        if (cached == null || !cached.outputLocation.equals(outputLocation) || !Arrays.equals(cached.classpath, classpath)) {
+            cached = new SourceToOut(classpath, outputLocation, generateSourceToOut(project));
+            sourceToOutCache.put(project.getElementName(), cached);
+        }
+        return cached.sourceToOut;
+    }
+
+    private static final Map<String, SourceToOut> sourceToOutCache = new ConcurrentHashMap<>();
+
+    /**
+     * Called by {@link GroovyParser#clearCache} when the project is closed or cleaned.
+     */
+    public static void clearCache(String projectName) {
+        sourceToOutCache.remove(projectName);
+    }
+
+    private static class SourceToOut {
+        final IClasspathEntry[] classpath;
+        final IPath outputLocation;
+        final Map<IContainer, IContainer> sourceToOut;
+
+        SourceToOut(IClasspathEntry[] classpath, IPath outputLocation, Map<IContainer, IContainer> sourceToOut) {
+            this.classpath = classpath;
+            this.outputLocation = outputLocation;
+            this.sourceToOut = Collections.unmodifiableMap(sourceToOut);
+        }
+    }
+
+    private static Map<IContainer, IContainer> generateSourceToOut(IJavaProject project) throws JavaModelException {
         IProject p = project.getProject();
         IWorkspaceRoot root = (IWorkspaceRoot) p.getParent();
         IClasspathEntry[] cp = project.getRawClasspath();
@@ -15,6 +15,8 @@
  */
 package org.codehaus.jdt.groovy.internal.compiler.ast;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,16 +28,20 @@ import org.codehaus.groovy.control.CompilationUnit.ProgressListener;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.Phases;
-import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.jdt.groovy.control.CSTSnapshotCache;
 import org.codehaus.jdt.groovy.control.EclipseSourceUnit;
 import org.codehaus.jdt.groovy.integration.internal.GroovyLanguageSupport;
 import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
+import org.codehaus.jdt.groovy.internal.compiler.ScriptFolderCompilationParticipant;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.util.CompilerUtils;
+import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
@@ -47,6 +53,7 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.core.builder.BatchImageBuilder;
 import org.eclipse.jdt.internal.core.builder.BuildNotifier;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The mapping layer between the groovy parser and the JDT. This class communicates
@@ -69,8 +76,59 @@ public class GroovyParser {
 
     private static Map<String, ScriptFolderSelector> scriptFolderSelectorCache = new ConcurrentHashMap<>();
 
+    private static Map<String, Map<String, CompilationUnit.ReconcilePolicy>> reconcilePoliciesCache = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the project's {@link Activator#GROOVY_RECONCILE_TRANSFORM_POLICIES}
+     * preference; parsed values are cached by preference string.
+     */
+    private static Map<String, CompilationUnit.ReconcilePolicy> getTransformReconcilePolicies(String projectName) {
+        if (projectName == null || Activator.getDefault() == null) {
+            return Collections.emptyMap();
+        }
+        String value = Activator.getDefault().getReconcileTransformPolicies(ResourcesPlugin.getWorkspace().getRoot().getProject(projectName));
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return reconcilePoliciesCache.computeIfAbsent(value, key -> {
+            Map<String, CompilationUnit.ReconcilePolicy> policies = new HashMap<>();
+            for (String entry : key.split(",")) {
+                int i = entry.indexOf('=');
+                if (i > 0) {
+                    String name = entry.substring(0, i).trim(), policy = entry.substring(i + 1).trim();
+                    if ("skip".equalsIgnoreCase(policy)) {
+                        policies.put(name, CompilationUnit.ReconcilePolicy.SKIP);
+                    } else if ("signature".equalsIgnoreCase(policy)) {
+                        policies.put(name, CompilationUnit.ReconcilePolicy.SIGNATURE_ONLY);
+                    } else if ("run".equalsIgnoreCase(policy)) {
+                        policies.put(name, CompilationUnit.ReconcilePolicy.RUN);
+                    } else {
+                        Util.log(IStatus.WARNING, "Unknown reconcile policy '" + policy + "' for transform " + name);
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(policies);
+        });
+    }
+
+    /**
+     * Returns the project's script folder selector.  Selectors are shared
+     * until the script filter preferences change, so the patterns are not
+     * parsed again for each build.
+     */
+    public static ScriptFolderSelector getScriptFolderSelector(IProject project) {
+        ScriptFolderSelector selector = scriptFolderSelectorCache.get(project.getName());
+        if (selector == null || !selector.isCurrent(project)) {
+            selector = new ScriptFolderSelector(project);
+            scriptFolderSelectorCache.put(project.getName(), selector);
+        }
+        return selector;
+    }
+
     public static void clearCache(String projectName) {
         scriptFolderSelectorCache.remove(projectName);
+        ScriptFolderCompilationParticipant.clearCache(projectName);
+        ResolutionFailureCache.INSTANCE.clear(projectName);
         GroovyClassLoaderFactory.clearCache(projectName);
     }
 
@@ -126,6 +184,9 @@ public class GroovyParser {
         cu.removeOutputPhaseOperation();
         cu.setResolveVisitor(resolver);
         cu.tweak(isReconcile);
+        if (isReconcile && compilerOptions != null) {
+            cu.transformReconcilePolicies = getTransformReconcilePolicies(compilerOptions.groovyProjectName);
+        }
 
         // GRAILS add
         if (allowTransforms && compilerOptions != null && (compilerOptions.groovyFlags & CompilerUtils.IsGrails) != 0) {
@@ -171,8 +232,9 @@ public class GroovyParser {
             }
         }
 
-        SourceUnit groovySourceUnit = new EclipseSourceUnit(eclipseFile, filepath, String.valueOf(sourceCode),
+        EclipseSourceUnit groovySourceUnit = new EclipseSourceUnit(eclipseFile, filepath, String.valueOf(sourceCode),
             compilationUnit.getConfiguration(), compilationUnit.getClassLoader(), errorCollector, this.resolver);
+        groovySourceUnit.setSnapshotCache(CSTSnapshotCache.getInstance());
         groovySourceUnit.isReconcile = compilationUnit.isReconcile;
         GroovyCompilationUnitDeclaration gcuDeclaration = new GroovyCompilationUnitDeclaration(
             problemReporter, compilationResult, sourceCode.length, compilationUnit, groovySourceUnit, compilerOptions);
@@ -201,11 +263,7 @@ public class GroovyParser {
         String projectName = compilerOptions.groovyProjectName;
         // Is this a script? If allowTransforms is TRUE then this is a 'full build' and we should remember which are scripts so that .class file output can be suppressed
         if (projectName != null && eclipseFile != null) {
-            ScriptFolderSelector scriptFolderSelector = scriptFolderSelectorCache.get(projectName);
-            if (scriptFolderSelector == null) {
-                scriptFolderSelector = new ScriptFolderSelector(ResourcesPlugin.getWorkspace().getRoot().getProject(projectName));
-                scriptFolderSelectorCache.put(projectName, scriptFolderSelector);
-            }
+            ScriptFolderSelector scriptFolderSelector = getScriptFolderSelector(ResourcesPlugin.getWorkspace().getRoot().getProject(projectName));
             if (scriptFolderSelector.isScript(eclipseFile)) {
                 gcuDeclaration.tagAsScript();
             }
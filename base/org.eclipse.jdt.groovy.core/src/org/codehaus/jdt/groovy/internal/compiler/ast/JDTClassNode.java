@@ -17,10 +17,14 @@ package org.codehaus.jdt.groovy.internal.compiler.ast;
 
 import static java.beans.Introspector.decapitalize;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.codehaus.groovy.GroovyBugError;
@@ -90,12 +94,26 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         unboundWildcard.setRedirect(ClassHelper.OBJECT_TYPE);
     }
 
+    /** Marks a name that has no field in {@link #fieldsByName} */
+    private static final FieldNode NO_SUCH_FIELD = new FieldNode("", 0, ClassHelper.OBJECT_TYPE, null, null);
+
     //--------------------------------------------------------------------------
 
+    private static final int LAZY_INNER_CLASSES = 0x8;
+    private static final int LAZY_ALL = LAZY_SUPERTYPES | LAZY_METHODS | LAZY_FIELDS | LAZY_INNER_CLASSES;
+
     /** Configuration flags */
     private volatile int bits;
-    private boolean beingInitialized;
-    private boolean anyGenericsInitialized;
+    /** Kinds of members that have been initialized */
+    private volatile int initialized;
+    /** Kinds of members being initialized; guarded by the resolver's binding lock */
+    private int initializing;
+    private volatile boolean anyGenericsInitialized;
+
+    /** Methods of a binary type that were looked up by name before all methods were initialized */
+    private volatile Map<String, List<MethodNode>> methodsByName;
+    /** Fields of a binary type that were looked up by name before all fields were initialized */
+    private volatile Map<String, FieldNode> fieldsByName;
 
     private GroovyTypeDeclaration groovyTypeDecl;
 
@@ -165,51 +183,47 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     @Override
     public void lazyClassInit() {
-        synchronized (lazyInitLock) {
-            if (lazyInitDone) {
-                return;
-            }
-            initialize();
-            lazyInitDone = true;
+        if (!lazyInitDone) {
+            lazyClassInit(LAZY_ALL);
         }
     }
 
     /**
-     * Basic initialization of the node - try and do most resolution lazily but some elements are worth getting correct up front: superclass, superinterfaces
+     * Initializes each requested kind of member once.  Members that are already
+     * initialized are read without locking; initialization reads bindings, so
+     * it uses the resolver's lock instead of lazyInitLock.
      */
-    // FIXASC confusing (and problematic?) that the superclass is setup after the generics information
-    private void initialize() {
-        if (beingInitialized) {
+    @Override
+    protected void lazyClassInit(int kinds) {
+        if ((initialized & kinds) == kinds) {
             return;
         }
-        try {
-            beingInitialized = true;
-
-            if (!jdtBinding.isInterface()) {
-                ReferenceBinding superClass = jdtBinding.superclass();
-                if (superClass != null) {
-                    setUnresolvedSuperClass(resolver.convertToClassNode(superClass));
+        synchronized (resolver.getBindingLock()) {
+            for (int kind = LAZY_SUPERTYPES; kind <= LAZY_INNER_CLASSES; kind <<= 1) {
+                // a kind that is being initialized is left as is for reentrant requests
+                if ((kinds & kind) != 0 && ((initialized | initializing) & kind) == 0) {
+                    initializing |= kind;
+                    try {
+                        initialize(kind);
+                        initialized |= kind;
+                    } finally {
+                        initializing &= ~kind;
+                    }
                 }
             }
-
-            ReferenceBinding[] superInterfaceBindings = jdtBinding.superInterfaces();
-            if (superInterfaceBindings == null)
-                superInterfaceBindings = Binding.NO_SUPERINTERFACES;
-            int n = superInterfaceBindings.length;
-            ClassNode[] interfaces = new ClassNode[n];
-            for (int i = 0; i < n; i += 1) {
-                interfaces[i] = resolver.convertToClassNode(superInterfaceBindings[i]);
+            if (initialized == LAZY_ALL) {
+                lazyInitDone = true;
             }
-            setInterfaces(interfaces);
-
-            initializeMembers();
-        } finally {
-            beingInitialized = false;
         }
     }
 
-    private void initializeMembers() {
-        if (jdtBinding instanceof SourceTypeBinding) {
+    private void initialize(int kind) {
+        if (kind == LAZY_SUPERTYPES) {
+            initializeSupertypes();
+            return;
+        }
+
+        if (groovyTypeDecl == null && jdtBinding instanceof SourceTypeBinding) {
             SourceTypeBinding sourceTypeBinding = (SourceTypeBinding) jdtBinding;
             if (sourceTypeBinding.scope != null) {
                 TypeDeclaration typeDecl = sourceTypeBinding.scope.referenceContext;
@@ -219,9 +233,6 @@ public class JDTClassNode extends ClassNode implements JDTNode {
             }
         }
 
-        // We do this here rather than at the start of the method because
-        // the preceding code sets 'groovyDecl', later used to 'initializeProperties'.
-
         // From this point onward... the code is only about initializing fields, constructors and methods.
         if (redirect != null) {
             // The code in ClassNode seems set up to get field information *always* from the end of the 'redirect' chain.
@@ -234,90 +245,152 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         }
 
         try {
-            MethodBinding[] methodBindings;
-            if (jdtBinding instanceof ParameterizedTypeBinding) {
-                ReferenceBinding genericType = ((ParameterizedTypeBinding) jdtBinding).genericType();
-                methodBindings = genericType.methods();
-            } else {
-                methodBindings = jdtBinding.methods();
+            if (kind == LAZY_METHODS) {
+                initializeMethods();
+            } else if (kind == LAZY_FIELDS) {
+                initializeFields();
+            } else if (kind == LAZY_INNER_CLASSES) {
+                initializeInnerClasses();
             }
-            if (methodBindings != null) {
-                for (MethodBinding methodBinding : methodBindings) {
-                    if (methodBinding.isConstructor()) {
-                        ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
-                        addConstructor(cNode);
-                    } else {
-                        MethodNode mNode = methodBindingToMethodNode(methodBinding);
-                        addMethod(mNode);
-                    }
-                }
+        } catch (AbortCompilation e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to initialize members for type " + getName(), e);
+        }
+    }
+
+    /**
+     * Basic initialization of the node - try and do most resolution lazily but some elements are worth getting correct up front: superclass, superinterfaces
+     */
+    // FIXASC confusing (and problematic?) that the superclass is setup after the generics information
+    private void initializeSupertypes() {
+        if (!jdtBinding.isInterface()) {
+            ReferenceBinding superClass = jdtBinding.superclass();
+            if (superClass != null) {
+                setUnresolvedSuperClass(resolver.convertToClassNode(superClass));
             }
+        }
 
-            if (jdtBinding instanceof BinaryTypeBinding) {
-                MethodBinding[] infraBindings = ((BinaryTypeBinding) jdtBinding).infraMethods();
-                for (MethodBinding methodBinding : infraBindings) {
-                    if (methodBinding.isConstructor()) {
-                        ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
-                        addConstructor(cNode);
-                    } else {
-                        MethodNode mNode = methodBindingToMethodNode(methodBinding);
-                        addMethod(mNode);
-                    }
+        ReferenceBinding[] superInterfaceBindings = jdtBinding.superInterfaces();
+        if (superInterfaceBindings == null)
+            superInterfaceBindings = Binding.NO_SUPERINTERFACES;
+        int n = superInterfaceBindings.length;
+        ClassNode[] interfaces = new ClassNode[n];
+        for (int i = 0; i < n; i += 1) {
+            interfaces[i] = resolver.convertToClassNode(superInterfaceBindings[i]);
+        }
+        setInterfaces(interfaces);
+    }
+
+    private void initializeMethods() {
+        MethodBinding[] methodBindings;
+        if (jdtBinding instanceof ParameterizedTypeBinding) {
+            ReferenceBinding genericType = ((ParameterizedTypeBinding) jdtBinding).genericType();
+            methodBindings = genericType.methods();
+        } else {
+            methodBindings = jdtBinding.methods();
+        }
+        // reuse the nodes of methods that were already looked up by name
+        Map<String, List<MethodNode>> named = methodsByName;
+        Set<String> reused = new HashSet<>();
+        if (methodBindings != null) {
+            for (MethodBinding methodBinding : methodBindings) {
+                if (methodBinding.isConstructor()) {
+                    ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
+                    addConstructor(cNode);
+                } else if (!reuseMethods(named, methodBinding, reused)) {
+                    MethodNode mNode = methodBindingToMethodNode(methodBinding);
+                    addMethod(mNode);
                 }
-            } else if (jdtBinding instanceof SourceTypeBinding) {
-                SourceTypeBinding jdtSourceTypeBinding = (SourceTypeBinding) jdtBinding;
-                ClassScope classScope = jdtSourceTypeBinding.scope;
-                // a null scope indicates it has already been 'cleaned up' so nothing to do (CUDeclaration.cleanUp())
-                if (classScope != null) {
-                    CompilationUnitScope cuScope = classScope.compilationUnitScope();
-                    LookupEnvironment environment = classScope.environment();
-                    MethodVerifier verifier = environment.methodVerifier();
-                    cuScope.verifyMethods(verifier);
+            }
+        }
+
+        if (jdtBinding instanceof BinaryTypeBinding) {
+            MethodBinding[] infraBindings = ((BinaryTypeBinding) jdtBinding).infraMethods();
+            for (MethodBinding methodBinding : infraBindings) {
+                if (methodBinding.isConstructor()) {
+                    ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
+                    addConstructor(cNode);
+                } else if (!reuseMethods(named, methodBinding, reused)) {
+                    MethodNode mNode = methodBindingToMethodNode(methodBinding);
+                    addMethod(mNode);
                 }
-                if (jdtSourceTypeBinding.isPrototype()) {
-                    // Synthetic bindings are created for features like covariance, where the method implementing an interface method uses a
-                    // different return type (interface I { A foo(); } class C implements I { AA foo(); } - this needs a method 'A foo()' in C.
-                    SyntheticMethodBinding[] syntheticMethodBindings = jdtSourceTypeBinding.syntheticMethods();
-                    if (syntheticMethodBindings != null) {
-                        for (SyntheticMethodBinding syntheticBinding : syntheticMethodBindings) {
-                            if (syntheticBinding.isConstructor()) {
-                                ConstructorNode cNode = constructorBindingToConstructorNode(syntheticBinding);
-                                addConstructor(cNode);
-                            } else {
-                                MethodNode mNode = methodBindingToMethodNode(syntheticBinding);
-                                addMethod(mNode);
-                            }
+            }
+            methodsByName = null;
+        } else if (jdtBinding instanceof SourceTypeBinding) {
+            SourceTypeBinding jdtSourceTypeBinding = (SourceTypeBinding) jdtBinding;
+            ClassScope classScope = jdtSourceTypeBinding.scope;
+            // a null scope indicates it has already been 'cleaned up' so nothing to do (CUDeclaration.cleanUp())
+            if (classScope != null) {
+                CompilationUnitScope cuScope = classScope.compilationUnitScope();
+                LookupEnvironment environment = classScope.environment();
+                MethodVerifier verifier = environment.methodVerifier();
+                cuScope.verifyMethods(verifier);
+            }
+            if (jdtSourceTypeBinding.isPrototype()) {
+                // Synthetic bindings are created for features like covariance, where the method implementing an interface method uses a
+                // different return type (interface I { A foo(); } class C implements I { AA foo(); } - this needs a method 'A foo()' in C.
+                SyntheticMethodBinding[] syntheticMethodBindings = jdtSourceTypeBinding.syntheticMethods();
+                if (syntheticMethodBindings != null) {
+                    for (SyntheticMethodBinding syntheticBinding : syntheticMethodBindings) {
+                        if (syntheticBinding.isConstructor()) {
+                            ConstructorNode cNode = constructorBindingToConstructorNode(syntheticBinding);
+                            addConstructor(cNode);
+                        } else {
+                            MethodNode mNode = methodBindingToMethodNode(syntheticBinding);
+                            addMethod(mNode);
                         }
                     }
                 }
             }
+        }
+    }
 
-            FieldBinding[] fieldBindings;
-            if (jdtBinding instanceof ParameterizedTypeBinding) {
-                fieldBindings = ((ParameterizedTypeBinding) jdtBinding).genericType().fields();
-            } else {
-                fieldBindings = jdtBinding.fields();
-            }
-            if (fieldBindings != null) {
-                for (FieldBinding fieldBinding : fieldBindings) {
-                    FieldNode fNode = fieldBindingToFieldNode(fieldBinding, groovyTypeDecl);
-                    addField(fNode);
+    private void initializeFields() {
+        FieldBinding[] fieldBindings;
+        if (jdtBinding instanceof ParameterizedTypeBinding) {
+            fieldBindings = ((ParameterizedTypeBinding) jdtBinding).genericType().fields();
+        } else {
+            fieldBindings = jdtBinding.fields();
+        }
+        Map<String, FieldNode> named = fieldsByName;
+        if (fieldBindings != null) {
+            for (FieldBinding fieldBinding : fieldBindings) {
+                FieldNode fNode = (named != null ? named.get(String.valueOf(fieldBinding.name)) : null);
+                if (fNode == null || fNode == NO_SUCH_FIELD) {
+                    fNode = fieldBindingToFieldNode(fieldBinding, groovyTypeDecl);
                 }
+                addField(fNode);
             }
+        }
+        fieldsByName = null;
+    }
 
-            if (mightHaveInners()) {
-                Stream.of(jdtBinding.memberTypes()).map(resolver::convertToClassNode).forEach(cn -> {
-                    @SuppressWarnings("unused") // InnerClassNode constructor adds reference to this.innerClasses
-                    ClassNode icn = new InnerClassNode(this, cn.getName(), cn.getModifiers(), cn.getSuperClass()) {{
-                        isPrimaryNode = false;
-                        setRedirect(cn);
-                    }};
-                });
+    private boolean reuseMethods(Map<String, List<MethodNode>> named, MethodBinding methodBinding, Set<String> reused) {
+        if (named != null) {
+            String name = String.valueOf(methodBinding.selector);
+            List<MethodNode> nodes = named.get(name);
+            if (nodes != null) {
+                if (reused.add(name)) {
+                    for (MethodNode mNode : nodes) {
+                        addMethod(mNode);
+                    }
+                }
+                return true;
             }
-        } catch (AbortCompilation e) {
-            throw e;
-        } catch (RuntimeException e) {
-            throw new RuntimeException("Failed to initialize members for type " + getName(), e);
+        }
+        return false;
+    }
+
+    private void initializeInnerClasses() {
+        if (mightHaveInners()) {
+            Stream.of(jdtBinding.memberTypes()).map(resolver::convertToClassNode).forEach(cn -> {
+                @SuppressWarnings("unused") // InnerClassNode constructor adds reference to this.innerClasses
+                ClassNode icn = new InnerClassNode(this, cn.getName(), cn.getModifiers(), cn.getSuperClass()) {{
+                    isPrimaryNode = false;
+                    setRedirect(cn);
+                }};
+            });
         }
     }
 
@@ -475,10 +548,108 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         return getName().replace('.', '/');
     }
 
+    /**
+     * Methods of a binary type are materialized for the requested name only,
+     * until something asks for all of the methods.
+     */
+    @Override
+    public List<MethodNode> getDeclaredMethods(String name) {
+        if (redirect == null && (initialized & LAZY_METHODS) == 0 && jdtBinding instanceof BinaryTypeBinding) {
+            Map<String, List<MethodNode>> named = methodsByName;
+            List<MethodNode> nodes = (named != null ? named.get(name) : null);
+            if (nodes != null) {
+                return nodes;
+            }
+            synchronized (resolver.getBindingLock()) {
+                if (((initialized | initializing) & LAZY_METHODS) == 0) {
+                    if (methodsByName == null) {
+                        methodsByName = new ConcurrentHashMap<>();
+                    }
+                    nodes = methodsByName.get(name);
+                    if (nodes == null) {
+                        nodes = initializeMethods(name);
+                        methodsByName.put(name, nodes);
+                    }
+                    return nodes;
+                }
+            }
+        }
+        return super.getDeclaredMethods(name);
+    }
+
+    private List<MethodNode> initializeMethods(String name) {
+        try {
+            char[] selector = name.toCharArray();
+            BinaryTypeBinding binaryBinding = (BinaryTypeBinding) jdtBinding;
+            List<MethodNode> nodes = new ArrayList<>();
+            for (MethodBinding methodBinding : binaryBinding.getMethods(selector)) {
+                if (!methodBinding.isConstructor()) {
+                    nodes.add(methodBindingToMethodNode(methodBinding));
+                }
+            }
+            for (MethodBinding methodBinding : binaryBinding.infraMethods()) {
+                if (!methodBinding.isConstructor() && CharOperation.equals(selector, methodBinding.selector)) {
+                    nodes.add(methodBindingToMethodNode(methodBinding));
+                }
+            }
+            if (nodes.isEmpty()) {
+                return Collections.emptyList();
+            }
+            for (MethodNode mNode : nodes) {
+                mNode.setDeclaringClass(this);
+            }
+            return Collections.unmodifiableList(nodes);
+        } catch (AbortCompilation e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to initialize methods named " + name + " for type " + getName(), e);
+        }
+    }
+
+    /**
+     * Fields of a binary type are materialized for the requested name only,
+     * until something asks for all of the fields.
+     */
+    @Override
+    public FieldNode getDeclaredField(String name) {
+        if (redirect == null && (initialized & LAZY_FIELDS) == 0 && jdtBinding instanceof BinaryTypeBinding) {
+            Map<String, FieldNode> named = fieldsByName;
+            FieldNode node = (named != null ? named.get(name) : null);
+            if (node == null) {
+                synchronized (resolver.getBindingLock()) {
+                    if (((initialized | initializing) & LAZY_FIELDS) != 0) {
+                        return super.getDeclaredField(name);
+                    }
+                    if (fieldsByName == null) {
+                        fieldsByName = new ConcurrentHashMap<>();
+                    }
+                    node = fieldsByName.get(name);
+                    if (node == null) {
+                        node = NO_SUCH_FIELD;
+                        FieldBinding fieldBinding = jdtBinding.getField(name.toCharArray(), true);
+                        if (fieldBinding != null) {
+                            node = fieldBindingToFieldNode(fieldBinding, null);
+                            node.setDeclaringClass(this);
+                        }
+                        fieldsByName.put(name, node);
+                    }
+                }
+            }
+            return (node != NO_SUCH_FIELD ? node : null);
+        }
+        return super.getDeclaredField(name);
+    }
+
+    @Override
+    public Iterator<InnerClassNode> getInnerClasses() {
+        lazyClassInit(LAZY_INNER_CLASSES);
+        return super.getInnerClasses();
+    }
+
     @Override
     public List<AnnotationNode> getAnnotations() {
         if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
-            synchronized (this) {
+            synchronized (resolver.getBindingLock()) {
                 if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
                     if (jdtBinding instanceof SourceTypeBinding) {
                         @SuppressWarnings("unused") // ensure resolved
@@ -521,28 +692,31 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     @Override
     public void setGenericsTypes(GenericsType[] genericsTypes) {
-        anyGenericsInitialized = true;
         super.setGenericsTypes(genericsTypes);
+        anyGenericsInitialized = true;
     }
 
     void setUpGenerics() {
         if (!anyGenericsInitialized)
-        try {
-            if (jdtBinding instanceof RawTypeBinding) {
-                // nothing to do
-            } else if (jdtBinding instanceof ParameterizedTypeBinding) {
-                GenericsType[] gts = new JDTClassNodeBuilder(resolver).configureTypeArguments(((ParameterizedTypeBinding) jdtBinding).arguments);
-                setGenericsTypes(gts);
-            } else {
-                // SourceTB, BinaryTB, TypeVariableB, WildcardB
-                TypeVariableBinding[] typeVariables = jdtBinding.typeVariables();
-                GenericsType[] generics = new JDTClassNodeBuilder(resolver).configureTypeVariables(typeVariables);
-                if (generics != null) {
-                    setGenericsTypes(generics);
+        synchronized (resolver.getBindingLock()) {
+            if (!anyGenericsInitialized)
+            try {
+                if (jdtBinding instanceof RawTypeBinding) {
+                    // nothing to do
+                } else if (jdtBinding instanceof ParameterizedTypeBinding) {
+                    GenericsType[] gts = new JDTClassNodeBuilder(resolver).configureTypeArguments(((ParameterizedTypeBinding) jdtBinding).arguments);
+                    setGenericsTypes(gts);
+                } else {
+                    // SourceTB, BinaryTB, TypeVariableB, WildcardB
+                    TypeVariableBinding[] typeVariables = jdtBinding.typeVariables();
+                    GenericsType[] generics = new JDTClassNodeBuilder(resolver).configureTypeVariables(typeVariables);
+                    if (generics != null) {
+                        setGenericsTypes(generics);
+                    }
                 }
+            } finally {
+                anyGenericsInitialized = true;
             }
-        } finally {
-            anyGenericsInitialized = true;
         }
     }
 
@@ -559,7 +733,7 @@ public class JDTClassNode extends ClassNode implements JDTNode {
     @Override
     public List<PropertyNode> getProperties() {
         if ((bits & PROPERTIES_INITIALIZED) == 0) {
-            synchronized (this) {
+            synchronized (resolver.getBindingLock()) {
                 if ((bits & PROPERTIES_INITIALIZED) == 0) {
                     lazyClassInit();
                     if (groovyTypeDecl != null) {
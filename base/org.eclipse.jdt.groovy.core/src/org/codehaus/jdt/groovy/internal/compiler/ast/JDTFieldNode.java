@@ -32,7 +32,7 @@ public class JDTFieldNode extends FieldNode implements JDTNode {
 
     private FieldBinding fieldBinding;
     private JDTResolver resolver;
-    private int bits;
+    private volatile int bits;
 
     public JDTFieldNode(FieldBinding fieldBinding, JDTResolver resolver, String name, int modifiers, ClassNode type, JDTClassNode declaringType, Expression initializerExpression) {
         super(name, modifiers, type, declaringType, initializerExpression);
@@ -52,13 +52,17 @@ public class JDTFieldNode extends FieldNode implements JDTNode {
 
     private void ensureAnnotationsInitialized() {
         if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
-            // If the backing declaring entity for the member is not a SourceTypeBinding then the
-            // annotations will have already been discarded/lost
-            AnnotationBinding[] annotationBindings = fieldBinding.getAnnotations();
-            for (AnnotationBinding annotationBinding : annotationBindings) {
-                super.addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+            synchronized (resolver.getBindingLock()) {
+                if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
+                    // If the backing declaring entity for the member is not a SourceTypeBinding then the
+                    // annotations will have already been discarded/lost
+                    AnnotationBinding[] annotationBindings = fieldBinding.getAnnotations();
+                    for (AnnotationBinding annotationBinding : annotationBindings) {
+                        super.addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+                    }
+                    bits |= ANNOTATIONS_INITIALIZED;
+                }
             }
-            bits |= ANNOTATIONS_INITIALIZED;
         }
     }
 
@@ -33,7 +33,7 @@ public class JDTMethodNode extends MethodNode implements JDTNode {
 
     private MethodBinding methodBinding;
     private JDTResolver resolver;
-    private int bits;
+    private volatile int bits;
 
     public JDTMethodNode(MethodBinding methodBinding, JDTResolver resolver, String name, int modifiers, ClassNode returnType, Parameter[] gParameters, ClassNode[] thrownExceptions, Statement object) {
         super(name, modifiers, returnType, gParameters, thrownExceptions, object);
@@ -53,13 +53,17 @@ public class JDTMethodNode extends MethodNode implements JDTNode {
 
     private void ensureAnnotationsInitialized() {
         if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
-            // If the backing declaring entity for the member is not a SourceTypeBinding then the
-            // annotations will have already been discarded/lost
-            AnnotationBinding[] annotationBindings = methodBinding.getAnnotations();
-            for (AnnotationBinding annotationBinding : annotationBindings) {
-                super.addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+            synchronized (resolver.getBindingLock()) {
+                if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
+                    // If the backing declaring entity for the member is not a SourceTypeBinding then the
+                    // annotations will have already been discarded/lost
+                    AnnotationBinding[] annotationBindings = methodBinding.getAnnotations();
+                    for (AnnotationBinding annotationBinding : annotationBindings) {
+                        super.addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+                    }
+                    bits |= ANNOTATIONS_INITIALIZED;
+                }
             }
-            bits |= ANNOTATIONS_INITIALIZED;
         }
     }
 
@@ -39,6 +39,7 @@ import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.compiler.ast.SingleTypeReference;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 
@@ -143,6 +144,17 @@ public class JDTResolver extends ResolveVisitor {
      */
     private Set<String> unresolvables = new HashSet<>();
 
+    /**
+     * JDT bindings and the caches of this resolver are not thread-safe. Nodes
+     * that read bindings lazily synchronize on this lock, since a module node
+     * may be shared by several threads (reconciling, content assist, search).
+     */
+    private final Object bindingLock = new Object();
+
+    public Object getBindingLock() {
+        return bindingLock;
+    }
+
     //--------------------------------------------------------------------------
 
     public JDTResolver(CompilationUnit groovyCompilationUnit) {
@@ -271,13 +283,24 @@ public class JDTResolver extends ResolveVisitor {
     protected boolean resolveToOuter(ClassNode type) {
         ClassNode node;
         if (activeScope != null) {
-            node = activeScope.lookupClassNodeForBinary(type.getName(), this);
-            if (DEBUG) {
-                log("resolveToOuter (jdt)", type, node != null);
-            }
-            if (node != null) {
-                type.setRedirect(node);
-                return true;
+            String name = type.getName(), projectName = activeScope.compilerOptions().groovyProjectName;
+            INameEnvironment environment = activeScope.environment().nameEnvironment;
+            if (ResolutionFailureCache.INSTANCE.isKnownFailure(projectName, environment, name)) {
+                // lookup would have recorded the reference for the incremental builder
+                recordDependency(name);
+                if (DEBUG) {
+                    log("resolveToOuter (cached failure)", type, false);
+                }
+            } else {
+                node = activeScope.lookupClassNodeForBinary(name, this);
+                if (DEBUG) {
+                    log("resolveToOuter (jdt)", type, node != null);
+                }
+                if (node != null) {
+                    type.setRedirect(node);
+                    return true;
+                }
+                ResolutionFailureCache.INSTANCE.recordFailure(projectName, environment, name);
             }
         }
         // Rudimentary grab support - if the compilation unit has our special classloader and as grab has occurred, try and find the class through it
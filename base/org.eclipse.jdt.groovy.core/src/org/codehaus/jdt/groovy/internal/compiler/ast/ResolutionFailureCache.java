@@ -0,0 +1,228 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.internal.compiler.ast;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.core.SearchableEnvironment;
+
+/**
+ * Records the fully-qualified type names that could not be found in a name
+ * environment, so that resolvers of other compilation units (and of later
+ * reconciles) do not probe for them again.  Star imports and default imports
+ * generate many such candidates for every simple type name.
+ * <p>
+ * Failures are kept per project and name environment.  The environments of
+ * a build (one for main and one for test sources) are weak keys, so nothing
+ * recorded by one build or source set is seen by another, and a finished
+ * build's environment is not kept alive by the cache.  Reconciles create a
+ * new environment each time, so their failures are shared by all
+ * environments of the project that see the same source folders.
+ * <p>
+ * A project's failures are dropped when it starts building.  All failures
+ * are dropped whenever a Java model delta could make a missing type available:
+ * added types, compilation units, class files, packages or package fragment
+ * roots, and classpath changes.  Each set is bounded by
+ * {@code greclipse.resolve.failureCacheSize}; a value of zero or less disables
+ * the cache.
+ */
+public class ResolutionFailureCache implements IElementChangedListener {
+
+    public static final ResolutionFailureCache INSTANCE = new ResolutionFailureCache();
+
+    private static final int MAX_SIZE = Integer.getInteger("greclipse.resolve.failureCacheSize", 20000);
+
+    private static final int CLASSPATH_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+        IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_OPENED;
+
+    /** Test source visibility of a searchable environment; not available before Eclipse 4.8. */
+    private static final Field EXCLUDE_TEST_CODE;
+    static {
+        Field field = null;
+        try {
+            field = SearchableEnvironment.class.getDeclaredField("excludeTestCode");
+            field.setAccessible(true);
+        } catch (Exception e) {
+            // no test sources
+        }
+        EXCLUDE_TEST_CODE = field;
+    }
+
+    /** Failures of reconciles, keyed by project and test source visibility. */
+    private final Map<Key, Set<String>> failures = new ConcurrentHashMap<>();
+
+    /** Failures of builds, keyed by name environment. */
+    private final Map<INameEnvironment, BuildFailures> buildFailures = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ResolutionFailureCache() {
+    }
+
+    /**
+     * @return {@code true} if {@code typeName} is known to be missing from the
+     *     given name environment of the project
+     */
+    public boolean isKnownFailure(String projectName, INameEnvironment environment, String typeName) {
+        if (projectName == null || MAX_SIZE <= 0) {
+            return false;
+        }
+        Set<String> names = getFailures(projectName, environment, false);
+        return (names != null && names.contains(typeName));
+    }
+
+    public void recordFailure(String projectName, INameEnvironment environment, String typeName) {
+        if (projectName == null || MAX_SIZE <= 0) {
+            return;
+        }
+        Set<String> names = getFailures(projectName, environment, true);
+        if (names.size() >= MAX_SIZE) {
+            names.clear();
+        }
+        names.add(typeName);
+    }
+
+    public void clear(String projectName) {
+        failures.keySet().removeIf(key -> key.projectName.equals(projectName));
+        synchronized (buildFailures) {
+            buildFailures.values().removeIf(value -> value.projectName.equals(projectName));
+        }
+    }
+
+    public void clear() {
+        failures.clear();
+        buildFailures.clear();
+    }
+
+    private Set<String> getFailures(String projectName, INameEnvironment environment, boolean create) {
+        if (isReconcileEnvironment(environment)) {
+            Key key = new Key(projectName, environment);
+            return (create ? failures.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()) : failures.get(key));
+        }
+        synchronized (buildFailures) {
+            BuildFailures value = buildFailures.get(environment);
+            if (value == null || !value.projectName.equals(projectName)) {
+                if (!create) {
+                    return null;
+                }
+                value = new BuildFailures(projectName);
+                buildFailures.put(environment, value);
+            }
+            return value.names;
+        }
+    }
+
+    private static boolean isReconcileEnvironment(INameEnvironment environment) {
+        return (environment == null || environment instanceof SearchableEnvironment);
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static final class Key {
+        final String projectName;
+        /** The test source visibility of a reconcile. */
+        final boolean excludeTestCode;
+
+        Key(String projectName, INameEnvironment environment) {
+            this.projectName = projectName;
+            this.excludeTestCode = excludeTestCode(environment);
+        }
+
+        private static boolean excludeTestCode(INameEnvironment environment) {
+            if (environment != null && EXCLUDE_TEST_CODE != null) {
+                try {
+                    return EXCLUDE_TEST_CODE.getBoolean(environment);
+                } catch (Exception e) {
+                    // fall through
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return projectName.equals(that.projectName) && excludeTestCode == that.excludeTestCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectName, excludeTestCode);
+        }
+    }
+
+    private static final class BuildFailures {
+        final String projectName;
+        final Set<String> names = ConcurrentHashMap.newKeySet();
+
+        BuildFailures(String projectName) {
+            this.projectName = projectName;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if ((!failures.isEmpty() || !buildFailures.isEmpty()) && mayAddTypes(event.getDelta())) {
+            // types are visible to dependent projects as well, so clear all
+            clear();
+        }
+    }
+
+    private static boolean mayAddTypes(IJavaElementDelta delta) {
+        if ((delta.getFlags() & CLASSPATH_FLAGS) != 0) {
+            return true;
+        }
+        switch (delta.getElement().getElementType()) {
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+        case IJavaElement.PACKAGE_FRAGMENT:
+        case IJavaElement.CLASS_FILE:
+        case IJavaElement.TYPE:
+            if (delta.getKind() == IJavaElementDelta.ADDED) {
+                return true;
+            }
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            if (delta.getKind() == IJavaElementDelta.ADDED) {
+                return true;
+            }
+            // content changes without a fine-grained delta may have added types
+            if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0 && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+                return true;
+            }
+            break;
+        }
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (mayAddTypes(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -20,11 +20,14 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.codehaus.jdt.groovy.internal.compiler.ast.ResolutionFailureCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.core.util.Util;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.prefs.BackingStoreException;
@@ -44,6 +47,9 @@ public class Activator extends Plugin {
     public static final String GROOVY_SCRIPT_FILTERS_ENABLED = "groovy.script.filters.enabled";
     public static final boolean DEFAULT_SCRIPT_FILTERS_ENABLED = true;
 
+    // comma-separated list of "name=policy" pairs; name is a transform class or annotation type and policy is run, signature or skip
+    public static final String GROOVY_RECONCILE_TRANSFORM_POLICIES = "groovy.reconcile.transform.policies";
+
     //--------------------------------------------------------------------------
 
     public static final String PLUGIN_ID = "org.eclipse.jdt.groovy.core";
@@ -61,10 +67,13 @@ public class Activator extends Plugin {
     @Override
     public void start(BundleContext context) throws Exception {
         super.start(context);
+        JavaCore.addElementChangedListener(ResolutionFailureCache.INSTANCE, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        JavaCore.removeElementChangedListener(ResolutionFailureCache.INSTANCE);
+        ResolutionFailureCache.INSTANCE.clear();
         super.stop(context);
     }
 
@@ -99,6 +108,19 @@ public class Activator extends Plugin {
         }
     }
 
+    /**
+     * @return reconcile policies for local AST transforms from the project's
+     *     preferences, or else from the workspace preferences
+     */
+    public String getReconcileTransformPolicies(IProject project) {
+        IEclipsePreferences preferences = getProjectPreferences(project);
+        String value = (preferences != null ? preferences.get(GROOVY_RECONCILE_TRANSFORM_POLICIES, null) : null);
+        if (value == null) {
+            value = getInstancePreferences().get(GROOVY_RECONCILE_TRANSFORM_POLICIES, "");
+        }
+        return value;
+    }
+
     public List<String> getScriptFilters(IEclipsePreferences preferences) {
         if (preferences == null) preferences = getInstancePreferences();
 
@@ -17,6 +17,7 @@ package org.eclipse.jdt.groovy.core.util;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -51,6 +52,7 @@ public class ScriptFolderSelector implements IEclipsePreferences.IPreferenceChan
     private boolean enabled;
     private boolean[] doCopy;
     private char[][] scriptPatterns;
+    private String filters;
     private IEclipsePreferences preferences;
 
     public ScriptFolderSelector(IProject project) {
@@ -84,14 +86,30 @@ public class ScriptFolderSelector implements IEclipsePreferences.IPreferenceChan
     @Override
     public void preferenceChange(IEclipsePreferences.PreferenceChangeEvent event) {
         doCopy = null;
+        filters = null;
         scriptPatterns = null;
         enabled = preferences.getBoolean(Activator.GROOVY_SCRIPT_FILTERS_ENABLED, Activator.DEFAULT_SCRIPT_FILTERS_ENABLED);
         if (enabled) {
-            String filters = preferences.get(Activator.GROOVY_SCRIPT_FILTERS, Activator.DEFAULT_GROOVY_SCRIPT_FILTER);
+            filters = preferences.get(Activator.GROOVY_SCRIPT_FILTERS, Activator.DEFAULT_GROOVY_SCRIPT_FILTER);
             initFilters(Arrays.asList(filters.split(",")));
         }
     }
 
+    /**
+     * @return {@code true} if this selector was created from the project's
+     *     current preferences and they have not changed since, so a cached
+     *     selector can be reused
+     */
+    public boolean isCurrent(IProject project) {
+        IEclipsePreferences current = getGroovyPreferences(project);
+        if (current == null || current != preferences) {
+            return false;
+        }
+        boolean enabledNow = current.getBoolean(Activator.GROOVY_SCRIPT_FILTERS_ENABLED, Activator.DEFAULT_SCRIPT_FILTERS_ENABLED);
+        return (enabledNow == enabled && (!enabled ||
+            Objects.equals(filters, current.get(Activator.GROOVY_SCRIPT_FILTERS, Activator.DEFAULT_GROOVY_SCRIPT_FILTER))));
+    }
+
     private void initFilters(List<String> listStringPreference) {
         if (listStringPreference == null) {
             scriptPatterns = CharOperation.NO_CHAR_CHAR;
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Collects search matches produced on a worker thread so that they can be
+ * reported to the real requestor later on the search thread.
+ */
+class DeferredSearchRequestor extends SearchRequestor {
+
+    private final SearchRequestor delegate;
+    private final List<SearchMatch> matches = new ArrayList<>();
+
+    DeferredSearchRequestor(SearchRequestor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void acceptSearchMatch(SearchMatch match) {
+        matches.add(match);
+    }
+
+    /**
+     * Sends the collected matches, in the order they were accepted, to the
+     * delegate requestor.
+     */
+    void flush() {
+        for (SearchMatch match : matches) {
+            try {
+                delegate.acceptSearchMatch(match);
+            } catch (CoreException e) {
+                Util.log(e, "Error reporting search match inside of " + match.getElement() + " in resource " + match.getResource());
+            }
+        }
+        matches.clear();
+    }
+
+    /**
+     * @return the requestor that matches will eventually be sent to
+     */
+    static SearchRequestor unwrap(SearchRequestor requestor) {
+        if (requestor instanceof DeferredSearchRequestor) {
+            return ((DeferredSearchRequestor) requestor).delegate;
+        }
+        return requestor;
+    }
+}
@@ -180,6 +180,6 @@ public class FieldReferenceSearchRequestor implements ITypeRequestor {
      * in the refactoring wizard of "possible matches".
      */
     private boolean shouldAlwaysBeAccurate() {
-        return requestor.getClass().getPackage().getName().indexOf("refactoring") != -1;
+        return DeferredSearchRequestor.unwrap(requestor).getClass().getPackage().getName().indexOf("refactoring") != -1;
     }
 }
@@ -385,7 +385,7 @@ public class MethodReferenceSearchRequestor implements ITypeRequestor {
      * refactoring wizard of "possible matches"
      */
     private boolean shouldAlwaysBeAccurate() {
-        return (requestor.getClass().getPackage().getName().indexOf("refactoring") != -1);
+        return (DeferredSearchRequestor.unwrap(requestor).getClass().getPackage().getName().indexOf("refactoring") != -1);
     }
 
     private static boolean supportsOverride(IMethod method) throws JavaModelException {
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jdt.groovy.integration.LanguageSupport;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.search.matching.PossibleMatch;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Runs type inferencing for several Groovy possible matches on a bounded pool
+ * of worker threads.  Each task builds the module node of its file and visits
+ * it; matches are buffered per file and reported to the search requestor on
+ * the search thread when {@link #report} is called for the file, so results
+ * come in the same order as in a sequential search.
+ * <p>
+ * Only a window of files ahead of the one being reported is searched at any
+ * one time, which bounds the number of module nodes and matches held.
+ * <p>
+ * Enabled by the system property {@code greclipse.search.parallel}; the number
+ * of workers can be set with {@code greclipse.search.threads}.
+ */
+public class ParallelMatchLocator implements LanguageSupport.DelegatedSearch {
+
+    private static final boolean ENABLED = Boolean.getBoolean("greclipse.search.parallel");
+
+    private static final int THREADS = Math.max(1, Integer.getInteger("greclipse.search.threads",
+        Runtime.getRuntime().availableProcessors()));
+
+    private static volatile boolean enabled = ENABLED && THREADS > 1;
+
+    private static ExecutorService executor;
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "Groovy Search Worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Overrides the system property; for testing.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final PossibleMatch[] possibleMatches;
+    private final SearchPattern pattern;
+    private final SearchRequestor requestor;
+    private final IProgressMonitor monitor;
+    private final int window;
+
+    private final TypeRequestorFactory requestorFactory = new TypeRequestorFactory();
+    private final TypeInferencingVisitorFactory visitorFactory = new TypeInferencingVisitorFactory();
+
+    /** Searches that have been submitted and not yet reported. */
+    private final Map<PossibleMatch, PendingMatch> pending = new IdentityHashMap<>();
+    /** Index of the next possible match to submit. */
+    private int next;
+
+    public ParallelMatchLocator(PossibleMatch[] possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor) {
+        this(possibleMatches, pattern, requestor, monitor, THREADS * 2);
+    }
+
+    ParallelMatchLocator(PossibleMatch[] possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor, int window) {
+        this.possibleMatches = possibleMatches.clone();
+        this.pattern = pattern;
+        this.requestor = requestor;
+        this.monitor = monitor;
+        this.window = Math.max(1, window);
+        fill();
+    }
+
+    /**
+     * Reports the matches of the given possible match, waiting for its search
+     * to finish if necessary.
+     *
+     * @return {@code true} if the search was performed; {@code false} if the
+     *     possible match is not part of this search or its search failed, in
+     *     which case it is left for the sequential search
+     * @throws OperationCanceledException if the search monitor is canceled
+     */
+    @Override
+    public boolean report(PossibleMatch possibleMatch) {
+        checkCanceled();
+        PendingMatch match = pending.remove(possibleMatch);
+        if (match == null) {
+            return false;
+        }
+        try {
+            boolean performed = match.future.get();
+            if (performed) {
+                match.buffer.flush();
+            }
+            return performed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new OperationCanceledException();
+        } catch (CancellationException e) {
+            checkCanceled();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OperationCanceledException) {
+                cancel();
+                throw (OperationCanceledException) e.getCause();
+            }
+            Util.log(e.getCause(), "Exception during parallel search of " + possibleMatch.document.getPath());
+            return false;
+        } finally {
+            fill();
+        }
+    }
+
+    /**
+     * Stops the searches that have not been reported yet.
+     */
+    @Override
+    public void cancel() {
+        next = possibleMatches.length;
+        for (PendingMatch match : pending.values()) {
+            match.future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private void checkCanceled() {
+        if (monitor != null && monitor.isCanceled()) {
+            cancel();
+            throw new OperationCanceledException();
+        }
+    }
+
+    /**
+     * Submits possible matches in order until the window is full.
+     */
+    private void fill() {
+        while (pending.size() < window && next < possibleMatches.length) {
+            PossibleMatch possibleMatch = possibleMatches[next++];
+            if (possibleMatch.openable == null || !possibleMatch.openable.exists()) {
+                continue;
+            }
+            DeferredSearchRequestor buffer = new DeferredSearchRequestor(requestor);
+            Future<Boolean> future = getExecutor().submit(() -> search(possibleMatch, buffer));
+            pending.put(possibleMatch, new PendingMatch(buffer, future));
+        }
+    }
+
+    /**
+     * Builds the module node of a possible match and visits it.  Runs on a
+     * worker thread.
+     */
+    private boolean search(PossibleMatch possibleMatch, DeferredSearchRequestor buffer) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+        ITypeRequestor typeRequestor = requestorFactory.createRequestor(possibleMatch, pattern, buffer);
+        if (typeRequestor == null) {
+            return false;
+        }
+        TypeInferencingVisitorWithRequestor visitor = visitorFactory.createVisitor(possibleMatch);
+        if (visitor == null) {
+            return false;
+        }
+        visitor.setProgressMonitor(monitor);
+        visitor.visitCompilationUnit(typeRequestor);
+        if (monitor != null && monitor.isCanceled()) {
+            // the visit stopped early; its matches are incomplete
+            throw new OperationCanceledException();
+        }
+        return true;
+    }
+
+    private static class PendingMatch {
+        final DeferredSearchRequestor buffer;
+        final Future<Boolean> future;
+
+        PendingMatch(DeferredSearchRequestor buffer, Future<Boolean> future) {
+            this.buffer = buffer;
+            this.future = future;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -90,6 +92,8 @@ import org.codehaus.groovy.ast.stmt.Statement;
 import org.codehaus.groovy.ast.tools.GenericsUtils;
 import org.codehaus.groovy.ast.tools.WideningCategories;
 import org.codehaus.groovy.classgen.BytecodeExpression;
+import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.runtime.MetaClassHelper;
 import org.codehaus.groovy.syntax.Types;
 import org.codehaus.groovy.transform.FieldASTTransformation;
@@ -101,6 +105,7 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyProjectFacade;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.Flags;
@@ -318,6 +323,17 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
     private Map<Variable, Map<String, ClassNode>> localMapProperties = new HashMap<>();
     private Variable currentMapVariable;
 
+    /**
+     * Counts the visits that were stopped early by cancellation or time budget.
+     */
+    private static final AtomicLong incompleteVisits = new AtomicLong();
+
+    private IProgressMonitor monitor;
+    private long budget; // in milliseconds; zero means no limit
+    private long deadline; // in terms of System.nanoTime(); zero means no limit
+    private boolean incomplete;
+    private int regionStart, regionEnd = -1; // source range to visit; -1 means whole unit
+
     /**
      * Use factory to instantiate
      */
@@ -332,6 +348,52 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
     //--------------------------------------------------------------------------
 
+    /**
+     * Sets the monitor that is checked for cancellation before each statement
+     * is visited.  If canceled, the visit stops and the requestor is left with
+     * the results gathered so far.
+     */
+    public void setProgressMonitor(IProgressMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Limits the time spent in each visit, starting when the visit begins.
+     * Once the budget is exhausted, the visit stops at the next statement and
+     * the requestor is left with the results gathered so far.
+     *
+     * @param millis time budget in milliseconds; zero or less for no limit
+     */
+    public void setTimeBudget(long millis) {
+        this.budget = Math.max(0L, millis);
+    }
+
+    /**
+     * Restricts the visit to the declarations that overlap the given source
+     * range.  Within a visited declaration, statements that follow the range
+     * are skipped; statements that precede it are still visited, since they
+     * may declare variables that are referenced within the range.
+     */
+    public void setRegion(int offset, int length) {
+        this.regionStart = offset;
+        this.regionEnd = offset + Math.max(0, length);
+    }
+
+    /**
+     * @return {@code true} if the last visit was stopped early by cancellation
+     *     or time budget, so the results given to the requestor are partial
+     */
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    /**
+     * @return number of visits (across all visitors) that were stopped early
+     */
+    public static long getIncompleteVisitCount() {
+        return incompleteVisits.get();
+    }
+
     public void visitCompilationUnit(ITypeRequestor requestor) {
         if (enclosingModule == null) {
             // no module node, can't do anything
@@ -340,6 +402,8 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
         this.requestor = requestor;
         this.enclosingElement = unit;
+        this.incomplete = false;
+        this.deadline = (budget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget) : 0L);
         VariableScope topLevelScope = new VariableScope(null, enclosingModule, false);
         scopes.add(topLevelScope);
 
@@ -367,7 +431,14 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         } finally {
             scopes.removeLast();
         }
-        if (DEBUG) {
+        if (incomplete) {
+            long count = incompleteVisits.incrementAndGet();
+            if (GroovyLogManager.manager.hasLoggers()) {
+                GroovyLogManager.manager.log(TraceCategory.DEFAULT, String.format(
+                    "Type inferencing of %s stopped early (%s); incomplete visits: %d",
+                    unit.getElementName(), monitor != null && monitor.isCanceled() ? "canceled" : "time budget exceeded", count));
+            }
+        } else if (DEBUG) {
             postVisitSanityCheck();
         }
     }
@@ -378,6 +449,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             // probably some sort of AST transformation is making this node invisible
             return;
         }
+        if (!isInRegion(node)) {
+            return;
+        }
         scopes.add(new VariableScope(scopes.getLast(), node, false));
         ASTNode  enclosingDeclaration0 = enclosingDeclarationNode;
         IJavaElement enclosingElement0 = enclosingElement;
@@ -405,7 +479,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
                     if (node.isScript()) {
                         // visit fields created by @Field
                         for (FieldNode field : node.getFields()) {
-                            if (field.getEnd() > 0) {
+                            if (field.getEnd() > 0 && isInRegion(field)) {
                                 visitFieldInternal(field);
                             }
                         }
@@ -469,6 +543,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             // probably some sort of AST transformation is making this node invisible
             return;
         }
+        if (!isInRegion(fieldNode)) {
+            return;
+        }
         this.requestor = requestor;
 
         IJavaElement enclosingElement0 = enclosingElement;
@@ -509,6 +586,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             // probably some sort of AST transformation is making this node invisible
             return;
         }
+        if (!isInRegion(methodNode)) {
+            return;
+        }
         this.requestor = requestor;
 
         scopes.add(new VariableScope(scopes.getLast(), methodNode, methodNode.isStatic()));
@@ -979,6 +1059,7 @@ assert primaryExprType != null && dependentExprType != null;
 
     @Override
     public void visitBlockStatement(BlockStatement block) {
+        checkBudget();
         scopes.add(new VariableScope(scopes.getLast(), block, false));
         boolean shouldContinue = handleStatement(block);
         if (shouldContinue) {
@@ -1891,6 +1972,35 @@ assert primaryExprType != null && dependentExprType != null;
 
     //--------------------------------------------------------------------------
 
+    @Override
+    protected void visitStatement(Statement statement) {
+        checkBudget();
+        if (regionEnd >= 0 && statement.getStart() > regionEnd) {
+            // the rest of the declaration follows the region
+            throw new VisitCompleted(VisitStatus.CANCEL_MEMBER);
+        }
+        super.visitStatement(statement);
+    }
+
+    /**
+     * @return {@code true} if the node overlaps the region set by
+     *     {@link #setRegion} or its source location is unknown
+     */
+    private boolean isInRegion(ASTNode node) {
+        return (regionEnd < 0 || node.getEnd() <= 0 || (node.getStart() <= regionEnd && node.getEnd() >= regionStart));
+    }
+
+    /**
+     * Stops the visit if the monitor has been canceled or the time budget has
+     * been exhausted.
+     */
+    private void checkBudget() {
+        if (incomplete || (monitor != null && monitor.isCanceled()) || (deadline != 0L && System.nanoTime() - deadline > 0L)) {
+            incomplete = true;
+            throw new VisitCompleted(VisitStatus.STOP_VISIT);
+        }
+    }
+
     private boolean handleStatement(Statement node) {
         // don't check the lookups because statements have no type.
         // but individual requestors may choose to end the visit here
@@ -330,7 +330,7 @@ public class TypeReferenceSearchRequestor implements ITypeRequestor {
      * refactoring wizard of "possible matches".
      */
     private boolean shouldAlwaysBeAccurate() {
-        return (requestor.getClass().getPackage().getName().indexOf("refactoring") != -1);
+        return (DeferredSearchRequestor.unwrap(requestor).getClass().getPackage().getName().indexOf("refactoring") != -1);
     }
 
     private int getAccuracy(TypeConfidence confidence) {
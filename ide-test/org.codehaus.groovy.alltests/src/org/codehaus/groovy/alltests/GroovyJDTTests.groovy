@@ -41,6 +41,7 @@ import org.junit.runners.Suite
     // Location tests
     org.eclipse.jdt.core.groovy.tests.locations.ASTConverterTests,
     org.eclipse.jdt.core.groovy.tests.locations.ASTNodeSourceLocationsTests,
+    org.eclipse.jdt.core.groovy.tests.locations.CSTSnapshotCacheTests,
     org.eclipse.jdt.core.groovy.tests.locations.LocationSupportTests,
     org.eclipse.jdt.core.groovy.tests.locations.SourceLocationsTests,
 
@@ -22,6 +22,8 @@ import org.codehaus.groovy.ast.MethodNode
 import org.codehaus.groovy.ast.stmt.ExpressionStatement
 import org.codehaus.groovy.ast.stmt.ReturnStatement
 import org.codehaus.groovy.ast.stmt.Statement
+import org.codehaus.groovy.eclipse.codeassist.creators.HierarchyCache
+import org.codehaus.groovy.eclipse.codeassist.creators.MethodProposalCreator
 import org.codehaus.groovy.eclipse.codeassist.proposals.GroovyMethodProposal
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit
 import org.eclipse.jdt.core.compiler.CharOperation
@@ -521,4 +523,33 @@ final class MethodCompletionTests extends CompletionTestSuite {
         ICompletionProposal[] proposals = createProposalsAtOffset(contents, getLastIndexOf(contents, 'com'))
         proposalExists(proposals, 'compareTo', 1)
     }
+
+    @Test
+    void testHierarchyCacheSharedByCreators() {
+        String contents = '''\
+            class Super { def one() {} }
+            class Sub extends Super { def two() {} }
+            '''.stripIndent()
+        GroovyCompilationUnit unit = addGroovySource(contents, nextUnitName())
+        def module = unit.getModuleNode()
+        ClassNode sub = module.classes.find { it.nameWithoutPackage == 'Sub' }
+
+        HierarchyCache cache = HierarchyCache.forModule(module)
+        assert HierarchyCache.forModule(module).is(cache)
+
+        def names = { MethodProposalCreator creator ->
+            creator.setHierarchyCache(HierarchyCache.forModule(module))
+            creator.findAllProposals(sub, Collections.EMPTY_SET, '', false, false).findAll { it instanceof GroovyMethodProposal }*.method*.name.sort()
+        }
+        List<String> first = names(new MethodProposalCreator())
+        List<MethodNode> methods = cache.getAllDeclaredMethods(sub)
+        List<ClassNode> supers = cache.getAllSupers(sub)
+        List<String> second = names(new MethodProposalCreator())
+
+        assert first == second
+        assert first.containsAll(['one', 'two'])
+        assert cache.getAllDeclaredMethods(sub).is(methods)
+        assert cache.getAllSupers(sub).is(supers)
+        assert supers.take(2)*.nameWithoutPackage == ['Sub', 'Super']
+    }
 }
@@ -15,7 +15,9 @@
  */
 package org.codehaus.groovy.eclipse.codeassist.tests;
 
+import org.codehaus.groovy.eclipse.codeassist.processors.GroovyProposalTypeSearchRequestor
 import org.eclipse.jdt.internal.codeassist.impl.AssistOptions
+import org.eclipse.jdt.internal.ui.text.java.LazyJavaTypeCompletionProposal
 import org.eclipse.jdt.ui.PreferenceConstants
 import org.eclipse.jface.text.contentassist.ICompletionProposal
 import org.junit.Test
@@ -312,4 +314,52 @@ final class TypeCompletionTests extends CompletionTestSuite {
         proposalExists(proposals, 'Assert - junit.framework', 0)
         proposalExists(proposals, 'Assert - org.junit', 1)
     }
+
+    @Test
+    void testTypeProposalLimit() {
+        String contents = 'Abstract'
+        def types = { ICompletionProposal[] proposals ->
+            proposals.findAll { it instanceof LazyJavaTypeCompletionProposal } as List<LazyJavaTypeCompletionProposal>
+        }
+        try {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(0)
+            List<LazyJavaTypeCompletionProposal> all = types(createProposalsAtOffset(contents, getIndexOf(contents, 'Abstract')))
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(5)
+            List<LazyJavaTypeCompletionProposal> some = types(createProposalsAtOffset(contents, getIndexOf(contents, 'Abstract')))
+
+            assert all.size() > 5
+            assert some.size() == 5
+            // the most relevant types are kept
+            assert some*.relevance.min() >= all*.relevance.sort().reverse()[4]
+        } finally {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(Integer.getInteger('greclipse.contentassist.typeProposalLimit', 0))
+        }
+    }
+
+    @Test
+    void testTypeProposalLimitVerifiesThrowableNames() {
+        addGroovySource('class SignatError {}', 'SignatError', 'p')
+        String contents = 'class A { void t() throws Signat {} }'
+        try {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(1)
+            ICompletionProposal[] proposals = createProposalsAtOffset(contents, getIndexOf(contents, 'Signat'))
+            proposalExists(proposals, 'SignatureException - java.security', 1)
+            proposalExists(proposals, 'SignatError - p', 0)
+        } finally {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(Integer.getInteger('greclipse.contentassist.typeProposalLimit', 0))
+        }
+    }
+
+    @Test
+    void testTypeProposalLimitPrefersThrowables() {
+        String contents = 'class A { void t() throws Signat {} }'
+        try {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(1)
+            ICompletionProposal[] proposals = createProposalsAtOffset(contents, getIndexOf(contents, 'Signat'))
+            proposalExists(proposals, 'SignatureException - java.security', 1)
+            proposalExists(proposals, 'Signature - java.security', 0)
+        } finally {
+            GroovyProposalTypeSearchRequestor.setTypeProposalLimit(Integer.getInteger('greclipse.contentassist.typeProposalLimit', 0))
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.test
+
+import org.codehaus.groovy.eclipse.core.builder.GroovyNameLookup
+import org.codehaus.groovy.eclipse.core.builder.SourceTypeIndex
+import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
+import org.eclipse.jdt.core.ICompilationUnit
+import org.eclipse.jdt.core.IType
+import org.eclipse.jdt.internal.core.JavaProject
+import org.eclipse.jdt.internal.core.NameLookup
+import org.junit.Test
+
+final class GroovyNameLookupTests extends GroovyEclipseTestSuite {
+
+    private IType findType(String name, String pack = 'p') {
+        def javaProject = (JavaProject) packageFragmentRoot.javaProject
+        def lookup = new GroovyNameLookup(javaProject.newNameLookup((ICompilationUnit[]) null))
+        lookup.findType(name, getPackageFragment(pack), false, NameLookup.ACCEPT_ALL, false, false)
+    }
+
+    private static void setContents(ICompilationUnit unit, String contents) {
+        unit.resource.setContents(new ByteArrayInputStream(contents.bytes), true, false, null)
+    }
+
+    @Test
+    void testTypeNotNamedAfterFile() {
+        def unit = addGroovySource('class Bar { static class Inner {} }', 'Foo', 'p')
+
+        IType type = findType('Bar')
+        assert type?.compilationUnit == unit
+        assert findType('Inner') == null // member types are only indexed for the main type
+
+        unit.rename('Baz.groovy', true, null)
+        unit = getPackageFragment('p').getCompilationUnit('Baz.groovy')
+        type = findType('Bar')
+        assert type?.compilationUnit == unit
+
+        setContents(unit, 'class Qux {}')
+        assert findType('Bar') == null
+        assert findType('Qux')?.compilationUnit == unit
+
+        unit.delete(true, null)
+        assert findType('Qux') == null
+    }
+
+    @Test
+    void testMemberTypeOfMainType() {
+        def unit = addGroovySource('class Main { static class Member {} }', 'Main', 'q')
+
+        IType type = findType('Member', 'q')
+        assert type?.fullyQualifiedName == 'q.Main$Member'
+
+        setContents(unit, 'class Main { static class Other {} }')
+        assert findType('Member', 'q') == null
+        assert findType('Other', 'q')?.compilationUnit == unit
+    }
+
+    @Test
+    void testClosedProject() {
+        addGroovySource('class Bar {}', 'Foo', 'p')
+        assert findType('Bar') != null
+        Map packages = SourceTypeIndex.INSTANCE.@packages
+        def javaProject = packageFragmentRoot.javaProject
+        assert packages.keySet().any { it.javaProject == javaProject }
+
+        withProject { project ->
+            project.close(null)
+            try {
+                assert !packages.keySet().any { it.javaProject == javaProject }
+            } finally {
+                project.open(null)
+            }
+        }
+        assert findType('Bar') != null
+    }
+}
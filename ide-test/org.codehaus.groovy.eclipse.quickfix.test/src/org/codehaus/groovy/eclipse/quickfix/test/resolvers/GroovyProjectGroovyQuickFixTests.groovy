@@ -18,16 +18,21 @@ package org.codehaus.groovy.eclipse.quickfix.test.resolvers
 import static org.junit.Assume.assumeTrue
 
 import org.codehaus.groovy.eclipse.core.model.GroovyRuntime
+import org.codehaus.groovy.eclipse.quickfix.GroovyQuickFixProcessor
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddGroovyRuntimeResolver
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsResolver
 import org.codehaus.groovy.eclipse.quickfix.proposals.IQuickFixResolver
 import org.codehaus.groovy.eclipse.quickfix.proposals.ProblemType
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver.AddClassCastProposal
+import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsResolver.AddAllMissingImportsProposal
 import org.eclipse.core.resources.IMarker
 import org.eclipse.core.resources.IResource
 import org.eclipse.jdt.core.ICompilationUnit
 import org.eclipse.jdt.core.IJavaModelMarker
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext
+import org.eclipse.jdt.internal.ui.text.correction.ProblemLocation
+import org.eclipse.jdt.ui.text.java.IProblemLocation
 import org.junit.Before
 import org.junit.Test
 
@@ -209,6 +214,44 @@ final class GroovyProjectGroovyQuickFixTests extends QuickFixHarness {
         testSelectImportGroovyTypeFromNewPackage(typeToImport, fullQualifiedTypeToImport, expectedQuickFixDisplay, typeToAddImport, typeToAddImportContent)
     }
 
+    /**
+     * Tests that the unresolved types of the file that have one candidate each
+     * can be imported by a single proposal.
+     */
+    @Test
+    void testAddAllImportsMultipleUnresolved() {
+        addGroovySource('class OtherTopLevelType { }', 'OtherTopLevelType', SUBSUBTEST)
+        def unit = addGroovySource('class BarAllUnresolved { TopLevelType one \n OtherTopLevelType two \n DoesNotExistType three }', 'BarAllUnresolved', 'com.test')
+
+        IMarker[] markers = getCompilationUnitJDTFailureMarkers(unit)
+        List<IQuickFixResolver> resolvers = getAllQuickFixResolversForType(markers, ProblemType.MISSING_IMPORTS_TYPE, unit)
+        def proposals = resolvers.findAll { it instanceof AddMissingGroovyImportsResolver }.collectMany { it.quickFixProposals ?: [] }
+        def proposal = proposals.find { it instanceof AddAllMissingImportsProposal }
+
+        assert proposal != null : 'Expected a proposal to import all unresolved types'
+        assert proposal.displayString == 'Import all unresolved types (2)'
+        assert proposal.suggestedJavaTypes*.fullyQualifiedName.sort() == [SUBTEST + '.TopLevelType', SUBSUBTEST + '.OtherTopLevelType'].sort()
+    }
+
+    /**
+     * Tests that the proposals for all the problems of an invocation are
+     * offered and that the proposal to import all types is offered once.
+     */
+    @Test
+    void testAddAllImportsMultipleLocations() {
+        addGroovySource('class OtherTopLevelType { }', 'OtherTopLevelType', SUBSUBTEST)
+        def unit = addGroovySource('class BarAllLocations { TopLevelType one \n OtherTopLevelType two }', 'BarAllLocations', 'com.test')
+
+        def context = new AssistContext(unit, 0, 0)
+        IProblemLocation[] locations = context.ASTRoot.problems.findAll { it.isError() }.collect { new ProblemLocation(it) }
+        assert locations.length >= 2
+
+        def proposals = new GroovyQuickFixProcessor().getCorrections(context, locations)*.displayString
+        assert proposals.contains("Import 'TopLevelType' ($SUBTEST)")
+        assert proposals.contains("Import 'OtherTopLevelType' ($SUBSUBTEST)")
+        assert proposals.count('Import all unresolved types (2)') == 1
+    }
+
     /**
      * Tests if a Groovy add import resolver has multiple suggestions for the
      * same unresolved simple name.
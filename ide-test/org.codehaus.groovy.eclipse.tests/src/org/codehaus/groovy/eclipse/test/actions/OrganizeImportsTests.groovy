@@ -17,6 +17,8 @@ package org.codehaus.groovy.eclipse.test.actions
 
 import groovy.transform.NotYetImplemented
 
+import org.codehaus.groovy.eclipse.refactoring.actions.OrganizeGroovyImportsJob
+import org.junit.Assert
 import org.junit.Test
 
 /**
@@ -179,6 +181,28 @@ final class OrganizeImportsTests extends OrganizeImportsTestSuite {
         doAddImportTest(contents, ['import javax.swing.text.html.HTML'])
     }
 
+    @Test
+    void testAddInnerImport6() {
+        String contents = '''
+            import java.util.Map.*
+            Entry<String, String> entry
+            '''
+        doContentsCompareTest(contents)
+    }
+
+    @Test
+    void testDefaultImportsNotAdded() {
+        String contents = '''
+            BigDecimal d
+            BigInteger i
+            Closure c
+            File f
+            List l
+            URL u
+            '''
+        doContentsCompareTest(contents)
+    }
+
     @Test // GRECLIPSE-470
     void testImportWithinMapLiteral() {
         String contents = '''
@@ -1445,5 +1469,43 @@ final class OrganizeImportsTests extends OrganizeImportsTestSuite {
         doContentsCompareTest(originalContents, expectedContents)
     }
 
+    @Test
+    void testOrganizeImportsJob() {
+        def units = [
+            addGroovySource('FirstClass f\n', nextUnitName()),
+            addGroovySource('import java.util.regex.Matcher\nSecondClass s\n', nextUnitName()),
+            addGroovySource('ThirdClass t\n', nextUnitName())
+        ]
+
+        def job = new OrganizeGroovyImportsJob(units)
+        job.schedule()
+        job.join()
+
+        Assert.assertTrue(job.result.isOK())
+        Assert.assertEquals(3, job.results.size())
+        Assert.assertTrue(job.results.every { it.parsed && it.applied && !it.ambiguous })
+        Assert.assertTrue(String.valueOf(units[0].contents).startsWith('import other.FirstClass'))
+        Assert.assertTrue(String.valueOf(units[1].contents).startsWith('import other.SecondClass'))
+        Assert.assertFalse(String.valueOf(units[1].contents).contains('Matcher'))
+        Assert.assertTrue(String.valueOf(units[2].contents).startsWith('import other.ThirdClass'))
+    }
+
+    @Test
+    void testOrganizeImportsJobStaleUnit() {
+        def unit = addGroovySource('FirstClass f\n', nextUnitName())
+        def job = new OrganizeGroovyImportsJob([unit])
+
+        def result = job.calculate(unit)
+        job.@results.add(result)
+        unit.resource.setContents(new ByteArrayInputStream('SecondClass s\n'.bytes), true, false, null)
+        job.apply([result], null)
+
+        Assert.assertEquals(1, job.results.size())
+        Assert.assertNotSame(result, job.results[0])
+        Assert.assertTrue(job.results[0].applied)
+        Assert.assertTrue(String.valueOf(unit.contents).startsWith('import other.SecondClass'))
+        Assert.assertFalse(String.valueOf(unit.contents).contains('FirstClass'))
+    }
+
     // TODO: Ensure imports come below header comment for class in the default package.
 }
@@ -15,6 +15,7 @@
  */
 package org.codehaus.groovy.eclipse.test.adapters
 
+import org.codehaus.groovy.eclipse.launchers.RunnableSourceScanner
 import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
 import org.codehaus.groovy.eclipse.ui.GroovyResourcePropertyTester
 import org.junit.Test
@@ -84,4 +85,31 @@ final class IsMainTesterTests extends GroovyEclipseTestSuite {
     void testHasMain7() {
         doTest('def x() { } \nx()', true)
     }
+
+    @Test
+    void testHasMain8() {
+        doTest('package pack1\nimport java.util.regex.Pattern\n@groovy.transform.CompileStatic\nclass MainClass { def p = ~/[{]/ }', false)
+    }
+
+    @Test
+    void testSourceScan1() {
+        assert RunnableSourceScanner.isRunnable('package p\nimport java.util.*\n\nprintln "x"'.toCharArray()) == Boolean.TRUE
+    }
+
+    @Test
+    void testSourceScan2() {
+        assert RunnableSourceScanner.isRunnable('@Deprecated class A { def s = "${ [1].collect { it } }" }\nenum E { X, Y }'.toCharArray()) == Boolean.FALSE
+    }
+
+    @Test
+    void testSourceScan3() {
+        // main method parameters are checked by the Java model
+        assert RunnableSourceScanner.isRunnable('class A { static void main(){} }'.toCharArray()) == null
+    }
+
+    @Test
+    void testSourceScan4() {
+        // slashy strings cannot be told apart from division without a parser
+        assert RunnableSourceScanner.isRunnable('class A { def p = /{/ }'.toCharArray()) == null
+    }
 }
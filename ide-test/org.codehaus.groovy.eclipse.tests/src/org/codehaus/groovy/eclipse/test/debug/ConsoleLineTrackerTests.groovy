@@ -77,6 +77,42 @@ final class ConsoleLineTrackerTests extends GroovyEclipseTestSuite {
         Assert.assertEquals('File name is wrong', 'Bar.groovy', file.getName())
     }
 
+    @Test
+    void testNoLinkForOtherLine() {
+        addGroovySource('', 'Bar', 'f')
+        String contents = 'wrote f/Bar.groovy (2 lines) to disk'
+        doc.set(contents)
+        lineTracker.lineAppended(new Region(0, contents.length()))
+        Assert.assertNull('Should not have found any hyperlinks', console.getLastLink())
+    }
+
+    @Test
+    void testLinksOfSeveralLines() {
+        addGroovySource('', 'Bar', 'f')
+        String contents = 'Caught: java.lang.Exception\n\tat f.Bar.run(Bar.groovy:2)\n\tat f.Bar.main(Bar.groovy:1)'
+        doc.set(contents)
+        for (int i = 0; i < doc.numberOfLines; i += 1) {
+            lineTracker.lineAppended(doc.getLineInformation(i))
+        }
+        IHyperlink link = console.getLastLink()
+        Assert.assertNotNull('Should have found a hyperlink', link)
+        Assert.assertEquals('Bar.groovy:1', doc.get(console.getRegion(link).offset, console.getRegion(link).length))
+    }
+
+    @Test
+    void testLinkToFileCreatedLater() {
+        String contents = 'at f.Qux.run(Qux.groovy:2)'
+        doc.set(contents)
+        lineTracker.lineAppended(new Region(0, contents.length()))
+        Assert.assertNull('Should not have found any hyperlinks', console.getLastLink())
+
+        addGroovySource('', 'Qux', 'f')
+        lineTracker.lineAppended(new Region(0, contents.length()))
+        Assert.assertNotNull('Should have found a hyperlink', console.getLastLink())
+        IFile file = (IFile) ReflectionUtils.getPrivateField(FileLink.class, 'fFile', console.getLastLink())
+        Assert.assertEquals('File name is wrong', 'Qux.groovy', file.getName())
+    }
+
     @Test
     void testAmbiguousLink() {
         addGroovySource('', 'Baz', 'f')
@@ -16,6 +16,7 @@
 package org.codehaus.groovy.eclipse.test.ui
 
 import org.codehaus.groovy.eclipse.GroovyPlugin
+import org.codehaus.groovy.eclipse.codebrowsing.elements.IGroovyResolvedElement
 import org.codehaus.groovy.eclipse.editor.GroovyEditor
 import org.codehaus.groovy.eclipse.editor.outline.GroovyOutlinePage
 import org.codehaus.groovy.eclipse.editor.outline.OField
@@ -280,6 +281,74 @@ final class OutlineExtenderTests extends GroovyEclipseTestSuite {
         assert ((IField) children[3]).nameRange.length == 3
     }
 
+    @Test
+    void testGroovyScriptOutlineReusesElements() {
+        String contents = '''\
+            def ttt = 8
+            Object hhh = 8
+            '''.stripIndent()
+        GroovyOutlinePage outline = openFile('Script1', contents)
+        IJavaElement[] children = outline.outlineCompilationUnit.children
+        assert children.length == 2
+
+        // update content; elements move but do not change
+        GroovyEditor editor = (GroovyEditor) openInEditor(outline.outlineCompilationUnit.unit)
+        JavaSourceViewer viewer = (JavaSourceViewer) editor.viewer
+        viewer.textWidget.selection = 0
+        viewer.textWidget.insert('\n\n')
+        buildProject()
+        waitForIndex()
+        outline.refresh()
+
+        IJavaElement[] newChildren = outline.outlineCompilationUnit.children
+        assert newChildren.length == 2
+        assert newChildren[0].is(children[0])
+        assert newChildren[1].is(children[1])
+        assert ((IField) newChildren[0]).nameRange.offset == contents.indexOf('ttt') + 2
+        assert ((IField) newChildren[1]).nameRange.offset == contents.indexOf('hhh') + 2
+
+        // update content; element type changes
+        viewer.textWidget.selection = 2
+        viewer.textWidget.replaceTextRange(2, 3, 'int')
+        buildProject()
+        waitForIndex()
+        outline.refresh()
+
+        newChildren = outline.outlineCompilationUnit.children
+        assert !newChildren[0].is(children[0])
+        assert newChildren[1].is(children[1])
+        assert ((IField) newChildren[0]).typeSignature == 'I'
+    }
+
+    @Test
+    void testGroovyScriptOutlineReplacesResolvedElements() {
+        String contents = '''\
+            import groovy.transform.Field
+            @Field Object fff = 8
+            def mmm() {}
+            '''.stripIndent()
+        GroovyOutlinePage outline = openFile('Script1', contents)
+        IJavaElement[] children = outline.outlineCompilationUnit.children
+        assert children*.elementType == [IJavaElement.IMPORT_CONTAINER, IJavaElement.FIELD, IJavaElement.METHOD]
+        assert children[1] instanceof IGroovyResolvedElement
+
+        GroovyEditor editor = (GroovyEditor) openInEditor(outline.outlineCompilationUnit.unit)
+        JavaSourceViewer viewer = (JavaSourceViewer) editor.viewer
+        viewer.textWidget.selection = 0
+        viewer.textWidget.insert('\n\n')
+        buildProject()
+        waitForIndex()
+        outline.refresh()
+
+        IJavaElement[] newChildren = outline.outlineCompilationUnit.children
+        assert newChildren.length == 3
+        assert !newChildren[0].is(children[0]) // import container
+        assert !newChildren[1].is(children[1]) // resolved field
+        assert newChildren[2].is(children[2]) // source method handle
+        assert ((IGroovyResolvedElement) newChildren[1]).inferredElement !=
+            ((IGroovyResolvedElement) children[1]).inferredElement
+    }
+
     @Test
     void testGroovyScriptOutline2() {
         String contents = '''\
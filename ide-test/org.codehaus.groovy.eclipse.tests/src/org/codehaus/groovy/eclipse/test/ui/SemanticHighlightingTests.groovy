@@ -20,12 +20,21 @@ import static org.junit.Assert.assertEquals
 
 import org.codehaus.groovy.eclipse.GroovyPlugin
 import org.codehaus.groovy.eclipse.core.preferences.PreferenceConstants
+import org.codehaus.groovy.eclipse.editor.GroovyEditor
 import org.codehaus.groovy.eclipse.editor.highlighting.GatherSemanticReferences
+import org.codehaus.groovy.eclipse.editor.highlighting.GroovySemanticReconciler
 import org.codehaus.groovy.eclipse.editor.highlighting.HighlightedTypedPosition
 import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
+import org.codehaus.groovy.eclipse.test.SynchronizationUtils
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit
+import org.eclipse.core.runtime.IStatus
+import org.eclipse.core.runtime.jobs.IJobChangeEvent
+import org.eclipse.core.runtime.jobs.Job
+import org.eclipse.core.runtime.jobs.JobChangeAdapter
+import org.eclipse.jdt.core.dom.AST
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor
+import org.eclipse.jface.text.Position
 import org.junit.Before
 import org.junit.Ignore
 import org.junit.Test
@@ -39,6 +48,47 @@ final class SemanticHighlightingTests extends GroovyEclipseTestSuite {
         addJavaSource('public @Deprecated class Java {\n  @Deprecated public static final String CONST = "";\n}', 'Java', 'other')
     }
 
+    @Test
+    void testReconcilesCoalesce() {
+        String contents = 'class X {\n  def m() {\n    int i = 1\n    i\n  }\n}\n'
+        GroovyEditor editor = (GroovyEditor) openInEditor(addGroovySource(contents, nextUnitName()))
+        SynchronizationUtils.joinBackgroundActivities()
+        GroovySemanticReconciler reconciler = editor.@semanticReconciler
+        Job job = reconciler.@highlightingJob
+        job.join()
+
+        List<IStatus> results = []
+        def listener = new JobChangeAdapter() {
+            @Override
+            void done(IJobChangeEvent event) {
+                results << event.result
+            }
+        }
+        job.addJobChangeListener(listener)
+        try {
+            def ast = AST.newAST(AST.JLS8).newCompilationUnit()
+            // keep the job from starting until all of the reconciles are in
+            Job.jobManager.suspend()
+            try {
+                5.times {
+                    reconciler.reconciled(ast, false, null)
+                }
+            } finally {
+                Job.jobManager.resume()
+            }
+            // the job must not need the UI thread to finish
+            job.join()
+        } finally {
+            job.removeJobChangeListener(listener)
+        }
+        SynchronizationUtils.joinBackgroundActivities()
+
+        assertEquals(1, results.count { it.isOK() })
+        List<Position> positions = reconciler.@presenter.@fPositions
+        assert positions.any { it.offset == contents.indexOf('i =') && it.length == 1 }
+        assert positions.any { it.offset == contents.lastIndexOf('i') && it.length == 1 }
+    }
+
     @Test
     void testFields() {
         String contents = '''\
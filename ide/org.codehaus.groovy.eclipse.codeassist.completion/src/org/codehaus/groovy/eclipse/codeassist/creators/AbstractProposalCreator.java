@@ -15,6 +15,7 @@
  */
 package org.codehaus.groovy.eclipse.codeassist.creators;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,17 +38,24 @@ import org.eclipse.jdt.groovy.search.VariableScope;
 public abstract class AbstractProposalCreator implements IProposalCreator {
 
     protected VariableScope currentScope;
+    protected Set<String> favoriteStaticMembers;
+    protected HierarchyCache hierarchyCache = new HierarchyCache();
 
     public void setCurrentScope(VariableScope currentScope) {
         this.currentScope = currentScope;
     }
 
-    protected Set<String> favoriteStaticMembers;
-
     public void setFavoriteStaticMembers(Set<String> favoriteStaticMembers) {
         this.favoriteStaticMembers = favoriteStaticMembers;
     }
 
+    /**
+     * Shares supertype and member lookups with other creators.
+     */
+    public void setHierarchyCache(HierarchyCache hierarchyCache) {
+        this.hierarchyCache = hierarchyCache;
+    }
+
     protected boolean checkName(String name) {
         return (name.charAt(0) != '<' && !name.contains("$"));
     }
@@ -87,7 +95,7 @@ public abstract class AbstractProposalCreator implements IProposalCreator {
     }
 
     protected List<MethodNode> getAllMethods(ClassNode type, Set<ClassNode> exclude) {
-        List<MethodNode> allMethods = type.getAllDeclaredMethods();
+        List<MethodNode> allMethods = new ArrayList<>(hierarchyCache.getAllDeclaredMethods(type));
         if (!exclude.isEmpty()) {
             // remove all methods from classes that we have already visited
             for (Iterator<MethodNode> methodIter = allMethods.iterator(); methodIter.hasNext();) {
@@ -110,13 +118,9 @@ public abstract class AbstractProposalCreator implements IProposalCreator {
         if (type == null) {
             return;
         }
-        if (!exclude.contains(type)) {
-            set.add(type);
-        }
-        getAllSupers(type.getSuperClass(), set, exclude);
-        for (ClassNode inter : (Iterable<ClassNode>) type.getAllInterfaces()) {
-            if (!inter.getName().equals(type.getName())) {
-                getAllSupers(inter, set, exclude);
+        for (ClassNode node : hierarchyCache.getAllSupers(type)) {
+            if (!exclude.contains(node)) {
+                set.add(node);
             }
         }
     }
@@ -164,12 +168,8 @@ public abstract class AbstractProposalCreator implements IProposalCreator {
         if (type == null) {
             return;
         }
-        set.add(type.getName());
-        getAllSupersAsStrings(type.getSuperClass(), set);
-        for (ClassNode inter : (Iterable<ClassNode>) type.getAllInterfaces()) {
-            if (! inter.getName().equals(type.getName())) {
-                getAllSupersAsStrings(inter, set);
-            }
+        for (ClassNode node : hierarchyCache.getAllSupers(type)) {
+            set.add(node.getName());
         }
     }
 
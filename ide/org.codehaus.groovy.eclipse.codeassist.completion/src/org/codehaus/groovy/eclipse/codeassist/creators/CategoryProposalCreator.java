@@ -63,7 +63,7 @@ public class CategoryProposalCreator extends AbstractProposalCreator {
         List<IGroovyProposal> groovyProposals = new LinkedList<>();
         for (ClassNode category : categories) {
             boolean isDefaultCategory = isDefaultCategory(category);
-            for (MethodNode method : category.getAllDeclaredMethods()) {
+            for (MethodNode method : hierarchyCache.getAllDeclaredMethods(category)) {
                 // check for DGMs filtered by deprecation or user preference
                 if (isDefaultCategory && (GroovyUtils.isDeprecated(method) || filter.isFiltered(method))) {
                     continue;
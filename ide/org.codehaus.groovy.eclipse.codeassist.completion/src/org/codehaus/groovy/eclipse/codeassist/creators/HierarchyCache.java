@@ -0,0 +1,100 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.codeassist.creators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+
+/**
+ * Memoizes type hierarchy walks and member tables for the proposal creators.
+ * One instance is shared by all creators working on a module, so supertypes
+ * and methods of the receiver type are computed once per module version
+ * instead of once per creator invocation.
+ */
+public class HierarchyCache {
+
+    /**
+     * @return the cache attached to the given module; a new cache if the
+     *     module is {@code null}
+     */
+    public static HierarchyCache forModule(ModuleNode module) {
+        if (module == null) {
+            return new HierarchyCache();
+        }
+        synchronized (module) {
+            HierarchyCache cache = module.getNodeMetaData(HierarchyCache.class);
+            if (cache == null) {
+                cache = new HierarchyCache();
+                module.setNodeMetaData(HierarchyCache.class, cache);
+            }
+            return cache;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final Map<ClassNode, List<ClassNode>> supers = new ConcurrentHashMap<>();
+    private final Map<ClassNode, List<MethodNode>> methods = new ConcurrentHashMap<>();
+
+    /**
+     * @return the type followed by its superclasses and interfaces, each one
+     *     listed once, in depth-first order
+     */
+    public List<ClassNode> getAllSupers(ClassNode type) {
+        List<ClassNode> result = supers.get(type);
+        if (result == null) {
+            Set<ClassNode> set = new LinkedHashSet<>();
+            collectSupers(type, set);
+            result = Collections.unmodifiableList(new ArrayList<>(set));
+            supers.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return unmodifiable view of {@link ClassNode#getAllDeclaredMethods()}
+     */
+    public List<MethodNode> getAllDeclaredMethods(ClassNode type) {
+        List<MethodNode> result = methods.get(type);
+        if (result == null) {
+            result = Collections.unmodifiableList(type.getAllDeclaredMethods());
+            methods.put(type, result);
+        }
+        return result;
+    }
+
+    private static void collectSupers(ClassNode type, Set<ClassNode> set) {
+        if (type == null) {
+            return;
+        }
+        set.add(type);
+        collectSupers(type.getSuperClass(), set);
+        for (ClassNode inter : (Iterable<ClassNode>) type.getAllInterfaces()) {
+            if (!inter.getName().equals(type.getName())) {
+                collectSupers(inter, set);
+            }
+        }
+    }
+}
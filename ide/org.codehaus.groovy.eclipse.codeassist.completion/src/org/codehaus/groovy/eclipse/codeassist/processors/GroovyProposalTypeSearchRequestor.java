@@ -16,11 +16,14 @@
 package org.codehaus.groovy.eclipse.codeassist.processors;
 
 import java.beans.Introspector;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -100,6 +103,12 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
     private static final char[] NO_TYPE_NAME = {'.'};
     private static final char[] _AS_ = {' ','a','s',' '};
     private static final int CHECK_CANCEL_FREQUENCY = 50;
+    /**
+     * Maximum number of type proposals to materialize; zero or less for no limit.
+     * Types left out are not proposed again as the prefix grows, since the
+     * proposal popup filters the proposals it has; so the limit is opt-in.
+     */
+    private static int typeProposalLimit = Integer.getInteger("greclipse.contentassist.typeProposalLimit", 0);
     private static final Pattern CLOSURE_INNER_TYPE = Pattern.compile("_closure\\d+$");
 
     private int foundTypesCount = 0;
@@ -330,6 +339,13 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
         }
     }
 
+    /**
+     * Overrides {@code greclipse.contentassist.typeProposalLimit}; for testing.
+     */
+    public static void setTypeProposalLimit(int limit) {
+        typeProposalLimit = limit;
+    }
+
     //--------------------------------------------------------------------------
 
     List<ICompletionProposal> processAcceptedPackages() {
@@ -356,9 +372,12 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
     }
 
     /**
-     * Called after all types have been accepted by this requestor.  Converts each type into an {@link ICompletionProposal}.
+     * Called after all types have been accepted by this requestor.  Converts the
+     * most relevant types into {@link ICompletionProposal}s.  If there are more
+     * than {@code greclipse.contentassist.typeProposalLimit} candidates, the rest
+     * are dropped.
      *
-     * @return list of all {@link ICompletionProposal}s applicable for this content assist request
+     * @return list of {@link ICompletionProposal}s applicable for this content assist request
      */
     List<ICompletionProposal> processAcceptedTypes(JDTResolver resolver) {
         checkCancel();
@@ -370,7 +389,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
 
         initializeRelevanceRule(resolver);
 
-        List<ICompletionProposal> proposals = new LinkedList<>();
+        List<AcceptedType> candidates = new ArrayList<>(n);
         boolean qualified = (completionExpression.indexOf('.') > 0);
         try {
             HashtableOfObject onDemandFound = new HashtableOfObject();
@@ -394,7 +413,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
                 type.fullyQualifiedName = CharOperation.concat(packageName, type.qualifiedTypeName, '.');
 
                 if (isImport) {
-                    proposals.add(proposeType(type));
+                    candidates.add(type);
                     continue next;
                 }
 
@@ -411,7 +430,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
                             int end = CharOperation.indexOf(_AS_, importSpec[1], true);
                             // use qualified name if there is already something with the same simple name imported
                             type.mustBeQualified = !CharOperation.equals(fullName, importSpec[1], 0, end > 0 ? end : importSpec[1].length);
-                            proposals.add(proposeType(type));
+                            candidates.add(type);
                             continue next;
                         }
                     }
@@ -433,7 +452,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
 
                     type.mustBeQualified = true;
                 }
-                proposals.add(proposeType(type));
+                candidates.add(type);
             }
 
             char[][] keys = onDemandFound.keyTable;
@@ -444,14 +463,77 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
                 if (keys[i] != null) {
                     AcceptedType value = (AcceptedType) vals[i];
                     if (value != null) {
-                        proposals.add(proposeType(value));
+                        candidates.add(value);
                     }
                 }
             }
+
+            return proposeTypes(candidates, resolver);
         } finally {
             acceptedTypes = null;
             relevanceRule = null;
         }
+    }
+
+    /**
+     * Computes the relevance of each candidate and materializes proposals for
+     * the best {@link #typeProposalLimit} of them.  Ties are broken in favor
+     * of the candidate accepted first, so the selection is deterministic.
+     * <p>
+     * When there is a limit, throwable types are first guessed from their
+     * names; only the guessed types that make it to the top are resolved, and
+     * those that are not throwable go back with their lower relevance.
+     */
+    private List<ICompletionProposal> proposeTypes(List<AcceptedType> candidates, JDTResolver resolver) {
+        int n = candidates.size();
+        boolean exceptions = (context.location == ContentAssistLocation.EXCEPTIONS && !isImport);
+        boolean limited = (typeProposalLimit > 0 && n > typeProposalLimit);
+        for (int i = 0; i < n; i += 1) {
+            if ((i % CHECK_CANCEL_FREQUENCY) == 0) {
+                checkCancel();
+            }
+            AcceptedType type = candidates.get(i);
+            type.relevance = computeRelevanceForTypeProposal(type.fullyQualifiedName, type.accessibility, type.modifiers);
+            if (exceptions && (limited ? hasThrowableName(type) : isThrowableType(type, resolver))) {
+                type.relevance += 50;
+                type.throwableGuessed = limited;
+            }
+            type.index = i;
+        }
+
+        List<AcceptedType> selected = candidates;
+        if (limited) {
+            Comparator<AcceptedType> bestFirst = Comparator.<AcceptedType>comparingInt(type -> type.relevance).reversed()
+                .thenComparingInt(type -> type.index);
+            PriorityQueue<AcceptedType> best = new PriorityQueue<>(n, bestFirst);
+            best.addAll(candidates);
+
+            selected = new ArrayList<>(typeProposalLimit);
+            for (int i = 0; selected.size() < typeProposalLimit && !best.isEmpty(); i += 1) {
+                if ((i % CHECK_CANCEL_FREQUENCY) == 0) {
+                    checkCancel();
+                }
+                AcceptedType type = best.poll();
+                if (type.throwableGuessed) {
+                    type.throwableGuessed = false;
+                    if (!isThrowableType(type, resolver)) {
+                        type.relevance -= 50;
+                        best.offer(type);
+                        continue;
+                    }
+                }
+                selected.add(type);
+            }
+            selected.sort(Comparator.comparingInt(type -> type.index));
+        }
+
+        List<ICompletionProposal> proposals = new ArrayList<>(selected.size());
+        for (int i = 0, m = selected.size(); i < m; i += 1) {
+            if ((i % CHECK_CANCEL_FREQUENCY) == 0) {
+                checkCancel();
+            }
+            proposals.add(proposeType(selected.get(i)));
+        }
         return proposals;
     }
 
@@ -466,7 +548,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
         proposal.setDeclarationSignature(type.packageName);
         proposal.setFlags(type.modifiers);
         proposal.setPackageName(type.packageName);
-        proposal.setRelevance(computeRelevanceForTypeProposal(type.fullyQualifiedName, type.accessibility, type.modifiers));
+        proposal.setRelevance(type.relevance);
         proposal.setReplaceRange(completionOffset, context.completionLocation);
         proposal.setSignature(Signature.createCharArrayTypeSignature(type.fullyQualifiedName, true));
         proposal.setTokenRange(completionOffset, context.completionEnd);
@@ -505,10 +587,6 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
                     }
                 }
             }
-
-            if (context.location == ContentAssistLocation.EXCEPTIONS && isThrowableType((IType) javaProposal.getJavaElement())) {
-                proposal.setRelevance(proposal.getRelevance() + 50);
-            }
         }
 
         javaProposal.setTriggerCharacters(ProposalUtils.TYPE_TRIGGERS);
@@ -729,9 +807,27 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
         return groovyProposalPrefs;
     }
 
-    private boolean isThrowableType(IType type) {
+    private static boolean hasThrowableName(AcceptedType type) {
+        return CharOperation.endsWith(type.simpleTypeName, "Exception".toCharArray()) ||
+            CharOperation.endsWith(type.simpleTypeName, "Error".toCharArray()) ||
+            CharOperation.equals(type.simpleTypeName, "Throwable".toCharArray());
+    }
+
+    private boolean isThrowableType(AcceptedType type, JDTResolver resolver) {
         try {
-            if (type != null && type.isClass() && type.newSupertypeHierarchy(null)
+            if (resolver != null) {
+                ClassNode node = resolver.resolve(String.valueOf(type.fullyQualifiedName));
+                if (node != null && !node.isInterface()) {
+                    for (; node != null; node = node.getSuperClass()) {
+                        if ("java.lang.Throwable".equals(node.getName())) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            IType jdtType = unit.getJavaProject().findType(String.valueOf(type.fullyQualifiedName).replace('$', '.'));
+            if (jdtType != null && jdtType.isClass() && jdtType.newSupertypeHierarchy(null)
                     .contains(unit.getJavaProject().findType("java.lang.Throwable"))) {
                 return true;
             }
@@ -959,6 +1055,10 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
         public boolean mustBeQualified;
         public char[] fullyQualifiedName;
         public char[] qualifiedTypeName;
+        public int relevance;
+        public int index;
+        /** The relevance includes the throwable boost, based on the name only. */
+        public boolean throwableGuessed;
 
         AcceptedType(
             char[] packageName,
@@ -46,6 +46,7 @@ import org.codehaus.groovy.eclipse.codeassist.GroovyContentAssist;
 import org.codehaus.groovy.eclipse.codeassist.creators.AbstractProposalCreator;
 import org.codehaus.groovy.eclipse.codeassist.creators.CategoryProposalCreator;
 import org.codehaus.groovy.eclipse.codeassist.creators.FieldProposalCreator;
+import org.codehaus.groovy.eclipse.codeassist.creators.HierarchyCache;
 import org.codehaus.groovy.eclipse.codeassist.creators.IProposalCreator;
 import org.codehaus.groovy.eclipse.codeassist.creators.MethodProposalCreator;
 import org.codehaus.groovy.eclipse.codeassist.proposals.AbstractGroovyProposal;
@@ -344,6 +345,11 @@ public class StatementAndExpressionCompletionProcessor extends AbstractGroovyCom
      */
     private final ASTNode lhsNode;
 
+    /**
+     * Supertypes and members shared by all proposal creators of this request.
+     */
+    private HierarchyCache hierarchyCache;
+
     public StatementAndExpressionCompletionProcessor(ContentAssistContext context, JavaContentAssistInvocationContext javaContext, SearchableEnvironment nameEnvironment) {
         super(context, javaContext, nameEnvironment);
         this.completionNode = context.getPerceivedCompletionNode();
@@ -403,7 +409,7 @@ public class StatementAndExpressionCompletionProcessor extends AbstractGroovyCom
             if (isPrimary) {
                 // if receiver type is an enum, propose its constants directly
                 if (context.lhsType != null && context.lhsType.isEnum() && !context.lhsType.equals(completionType)) {
-                    List<IGroovyProposal> enumFields = new FieldProposalCreator().findAllProposals(
+                    List<IGroovyProposal> enumFields = withHierarchyCache(new FieldProposalCreator()).findAllProposals(
                         context.lhsType, Collections.EMPTY_SET, context.getPerceivedCompletionExpression(), true, true);
                     for (Iterator<IGroovyProposal> it = enumFields.iterator(); it.hasNext();) {
                         GroovyFieldProposal proposal = (GroovyFieldProposal) it.next();
@@ -435,13 +441,13 @@ public class StatementAndExpressionCompletionProcessor extends AbstractGroovyCom
             }
             if (containingClass != null) {
                 Set<ClassNode> categories = context.unit.getModuleNode().getNodeMetaData(VariableScope.DGM_CLASS_NODE.getTypeClass());
-                groovyProposals.addAll(new CategoryProposalCreator().findAllProposals(containingClass, categories, context.getPerceivedCompletionExpression(), false, isPrimary));
+                groovyProposals.addAll(withHierarchyCache(new CategoryProposalCreator()).findAllProposals(containingClass, categories, context.getPerceivedCompletionExpression(), false, isPrimary));
             } else if (node instanceof ImportNode) {
                 ImportNode importNode = (ImportNode) node;
                 if (importNode.isStatic()) {
                     containingClass = importNode.getType();
-                    groovyProposals.addAll(new FieldProposalCreator().findAllProposals(containingClass, Collections.EMPTY_SET, context.getPerceivedCompletionExpression(), true, isPrimary));
-                    groovyProposals.addAll(new MethodProposalCreator().findAllProposals(containingClass, Collections.EMPTY_SET, context.getPerceivedCompletionExpression(), true, isPrimary));
+                    groovyProposals.addAll(withHierarchyCache(new FieldProposalCreator()).findAllProposals(containingClass, Collections.EMPTY_SET, context.getPerceivedCompletionExpression(), true, isPrimary));
+                    groovyProposals.addAll(withHierarchyCache(new MethodProposalCreator()).findAllProposals(containingClass, Collections.EMPTY_SET, context.getPerceivedCompletionExpression(), true, isPrimary));
 
                     groovyProposals.removeIf(proposal -> {
                         if (proposal instanceof AbstractGroovyProposal) {
@@ -516,6 +522,7 @@ public class StatementAndExpressionCompletionProcessor extends AbstractGroovyCom
             if (creator instanceof AbstractProposalCreator) {
                 ((AbstractProposalCreator) creator).setCurrentScope(requestor.currentScope);
                 ((AbstractProposalCreator) creator).setFavoriteStaticMembers(context.getFavoriteStaticMembers());
+                ((AbstractProposalCreator) creator).setHierarchyCache(getHierarchyCache());
             }
             Set<ClassNode> categories = requestor.categories;
             String expression = context.getPerceivedCompletionExpression();
@@ -525,6 +532,18 @@ public class StatementAndExpressionCompletionProcessor extends AbstractGroovyCom
         }
     }
 
+    private HierarchyCache getHierarchyCache() {
+        if (hierarchyCache == null) {
+            hierarchyCache = HierarchyCache.forModule(getContext().unit.getModuleNode());
+        }
+        return hierarchyCache;
+    }
+
+    private <C extends AbstractProposalCreator> C withHierarchyCache(C creator) {
+        creator.setHierarchyCache(getHierarchyCache());
+        return creator;
+    }
+
     protected VariableScope createTopLevelScope(ClassNode completionType) {
         VariableScope scope = new VariableScope(null, completionType, false);
         return scope;
@@ -15,9 +15,12 @@
  */
 package org.codehaus.groovy.eclipse.core;
 
+import org.codehaus.groovy.eclipse.core.builder.SourceTypeIndex;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
 import org.osgi.framework.BundleContext;
 
 public class GroovyCoreActivator extends Plugin {
@@ -37,10 +40,13 @@ public class GroovyCoreActivator extends Plugin {
     @Override
     public void start(BundleContext context) throws Exception {
         super.start(context);
+        JavaCore.addElementChangedListener(SourceTypeIndex.INSTANCE, ElementChangedEvent.POST_CHANGE);
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        JavaCore.removeElementChangedListener(SourceTypeIndex.INSTANCE);
+        SourceTypeIndex.INSTANCE.clear();
         super.stop(context);
     }
 
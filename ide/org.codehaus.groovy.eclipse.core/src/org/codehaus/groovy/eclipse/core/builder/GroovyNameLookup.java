@@ -72,42 +72,35 @@ public class GroovyNameLookup extends NameLookup {
         try {
             if (!partialMatch) {
                 try {
-                    IJavaElement[] compilationUnits = pkg.getChildren();
-                    for (int i = 0, length = compilationUnits.length; i < length; i++) {
-                        if (requestor.isCanceled())
-                            return;
-                        // GROOVY begin
-                        // removed statements that continue if type is not the same name as the compilation unit
-                        ICompilationUnit cu = (ICompilationUnit) compilationUnits[i];
+                    // GROOVY begin
+                    // find the compilation unit through the index instead of looking in each one
+                    if (requestor.isCanceled())
+                        return;
+                    ICompilationUnit cu = SourceTypeIndex.INSTANCE.findTypeUnit(pkg, name);
+                    if (cu != null) {
                         IType type = cu.getType(name);
-                        if (
-                                // GROOVY begin
-                                type.exists() &&
-                                // GROOVY end
-                                acceptType(type, acceptFlags, true/*a source type*/)) { // accept type checks for existence
+                        if (type.exists() && acceptType(type, acceptFlags, true/*a source type*/)) {
                             requestor.acceptType(type);
-                            break;  // since an exact match was requested, no other matching type can exist
+                            return;  // since an exact match was requested, no other matching type can exist
                         }
+                    }
 
-                        // now look for member types
+                    // now look for member types
 
+                    cu = SourceTypeIndex.INSTANCE.findMemberTypeUnit(pkg, name);
+                    if (cu != null) {
                         String mainType = cu.getElementName();
                         int dotIndex = mainType.indexOf('.');
                         mainType = mainType.substring(0, dotIndex);
-                        type = cu.getType(mainType);
+                        IType type = cu.getType(mainType);
                         if (type.exists()) {
                             type = getMemberType(type, name, firstDot);
-                            if (
-                                    // GROOVY begin
-                                    type.exists() &&
-                                    // GROOVY end
-                                    acceptType(type, acceptFlags, true/*a source type*/)) { // accept type checks for existence
+                            if (type.exists() && acceptType(type, acceptFlags, true/*a source type*/)) {
                                 requestor.acceptType(type);
-                                break;  // since an exact match was requested, no other matching type can exist
                             }
                         }
-                        // GROOVY end
                     }
+                    // GROOVY end
                 } catch (JavaModelException e) {
                     // package doesn't exist -> ignore
                 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.builder;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Maps the type names declared in source packages to their compilation units.
+ * Groovy files may declare types whose names differ from the file name, so an
+ * exact-name lookup would otherwise have to visit every compilation unit of the
+ * package.
+ * <p>
+ * A package is indexed the first time it is searched.  Compilation units
+ * reported by Java element deltas are re-indexed on the next search of their
+ * package; package, root and classpath changes and closing a project drop the
+ * affected entries.
+ */
+public class SourceTypeIndex implements IElementChangedListener {
+
+    public static final SourceTypeIndex INSTANCE = new SourceTypeIndex();
+
+    private static final int CLASSPATH_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+        IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+    private final Map<IPackageFragment, PackageIndex> packages = new ConcurrentHashMap<>();
+
+    private SourceTypeIndex() {
+    }
+
+    /**
+     * @return the compilation unit of the given package that declares a top
+     *     level type with the given simple name, or {@code null}
+     */
+    public ICompilationUnit findTypeUnit(IPackageFragment pkg, String typeName) throws JavaModelException {
+        return getPackageIndex(pkg).find(typeName, false);
+    }
+
+    /**
+     * @return the compilation unit of the given package whose main type (the
+     *     type named after the file) declares a member type with the given
+     *     simple name, or {@code null}
+     */
+    public ICompilationUnit findMemberTypeUnit(IPackageFragment pkg, String typeName) throws JavaModelException {
+        return getPackageIndex(pkg).find(typeName, true);
+    }
+
+    public void clear() {
+        packages.clear();
+    }
+
+    private PackageIndex getPackageIndex(IPackageFragment pkg) {
+        return packages.computeIfAbsent(pkg, PackageIndex::new);
+    }
+
+    //--------------------------------------------------------------------------
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if (!packages.isEmpty()) {
+            processDelta(event.getDelta());
+        }
+    }
+
+    private void processDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        if ((delta.getFlags() & CLASSPATH_FLAGS) != 0) {
+            clear();
+            return;
+        }
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_MODEL:
+            break;
+        case IJavaElement.JAVA_PROJECT:
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+            // a closed project is reported as changed, without deltas for its packages
+            if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & IJavaElementDelta.F_CLOSED) != 0) {
+                packages.keySet().removeIf(pkg -> element.equals(pkg.getAncestor(element.getElementType())));
+                return;
+            }
+            break;
+        case IJavaElement.PACKAGE_FRAGMENT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED) {
+                packages.remove(element);
+                return;
+            }
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            PackageIndex index = packages.get(element.getParent());
+            if (index != null) {
+                index.invalidate((ICompilationUnit) element);
+            }
+            return;
+        default:
+            return;
+        }
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            processDelta(child);
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static class PackageIndex {
+
+        private final IPackageFragment pkg;
+        private volatile Map<String, ICompilationUnit> types;
+        private Map<String, ICompilationUnit> memberTypes;
+        /** Units to re-index; updated by delta notifications without locking */
+        private final Set<ICompilationUnit> stale = ConcurrentHashMap.newKeySet();
+
+        PackageIndex(IPackageFragment pkg) {
+            this.pkg = pkg;
+        }
+
+        synchronized ICompilationUnit find(String typeName, boolean member) throws JavaModelException {
+            if (types == null) {
+                // units that change while the package is indexed are marked stale
+                stale.clear();
+                memberTypes = new HashMap<>();
+                types = new HashMap<>();
+                try {
+                    for (ICompilationUnit unit : pkg.getCompilationUnits()) {
+                        index(unit);
+                    }
+                } catch (JavaModelException e) {
+                    types = null;
+                    throw e;
+                }
+            } else {
+                for (Iterator<ICompilationUnit> it = stale.iterator(); it.hasNext();) {
+                    ICompilationUnit unit = it.next();
+                    it.remove();
+                    types.values().removeIf(unit::equals);
+                    memberTypes.values().removeIf(unit::equals);
+                    if (unit.exists()) {
+                        index(unit);
+                    }
+                }
+            }
+            return (member ? memberTypes : types).get(typeName);
+        }
+
+        void invalidate(ICompilationUnit unit) {
+            if (types != null) {
+                stale.add(unit);
+            }
+        }
+
+        private void index(ICompilationUnit unit) {
+            try {
+                String mainTypeName = unit.getElementName();
+                int dot = mainTypeName.indexOf('.');
+                if (dot > 0) {
+                    mainTypeName = mainTypeName.substring(0, dot);
+                }
+                for (IType type : unit.getTypes()) {
+                    types.putIfAbsent(type.getElementName(), unit);
+                    if (type.getElementName().equals(mainTypeName)) {
+                        for (IType memberType : type.getTypes()) {
+                            memberTypes.putIfAbsent(memberType.getElementName(), unit);
+                        }
+                    }
+                }
+            } catch (JavaModelException e) {
+                // unit doesn't exist -> ignore
+            }
+        }
+    }
+}
@@ -16,7 +16,9 @@
 package org.codehaus.groovy.eclipse.quickfix;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.groovy.eclipse.quickfix.proposals.GroovyQuickFixResolverRegistry;
 import org.codehaus.groovy.eclipse.quickfix.proposals.IQuickFixResolver;
@@ -49,20 +51,22 @@ public class GroovyQuickFixProcessor implements IQuickFixProcessor {
         // as the proposals should not appear if the problem is in any other
         // type of project
         if (isProblemInGroovyProject(context, locations)) {
-            QuickFixProblemContext problemContext = getQuickFixProblemContext(context, locations);
-            if (problemContext != null) {
+            // proposals with the same label for different locations (i.e. "import all") are offered once
+            Map<String, IJavaCompletionProposal> proposals = new LinkedHashMap<>();
+            for (QuickFixProblemContext problemContext : getQuickFixProblemContexts(context, locations)) {
                 List<IQuickFixResolver> resolvers = new GroovyQuickFixResolverRegistry(problemContext).getQuickFixResolvers();
                 if (resolvers != null) {
-                    List<IJavaCompletionProposal> proposals = new ArrayList<>();
                     for (IQuickFixResolver resolver : resolvers) {
                         List<IJavaCompletionProposal> foundProposals = resolver.getQuickFixProposals();
                         if (foundProposals != null) {
-                            proposals.addAll(foundProposals);
+                            for (IJavaCompletionProposal proposal : foundProposals) {
+                                proposals.putIfAbsent(proposal.getDisplayString(), proposal);
+                            }
                         }
                     }
-                    return proposals.toArray(new IJavaCompletionProposal[proposals.size()]);
                 }
             }
+            return proposals.values().toArray(new IJavaCompletionProposal[proposals.size()]);
         }
         return new IJavaCompletionProposal[0];
 
@@ -93,28 +97,34 @@ public class GroovyQuickFixProcessor implements IQuickFixProcessor {
     }
 
     /**
-     * Generates a representation of the Java problem context that the Groovy
-     * quick fix framework will understand.
+     * Generates representations of the Java problem contexts that the Groovy
+     * quick fix framework will understand.  The contexts share their module
+     * node, context types and type search results, since they all belong to
+     * the same invocation.
      *
      * @param context
-     *            Java context containing information about the problem
+     *            Java context containing information about the problems
      * @param locations
-     *            where the problem occurs
-     * @return model representing the Java problem context
+     *            where the problems occur
+     * @return models representing the Java problem contexts; never null
      */
-    protected QuickFixProblemContext getQuickFixProblemContext(IInvocationContext context, IProblemLocation[] locations) {
-        if (context == null || locations == null || locations.length == 0) {
-            return null;
-        }
-        // FIX: for now return the first location. Add support to
-        // return multiple locations if necessary
-        IProblemLocation location = locations[0];
-        ProblemDescriptor descriptor = getProblemDescriptor(
-            location.getProblemId(), location.getMarkerType(), location.getProblemArguments());
-        if (descriptor != null) {
-            return new QuickFixProblemContext(descriptor, context, location);
+    protected List<QuickFixProblemContext> getQuickFixProblemContexts(IInvocationContext context, IProblemLocation[] locations) {
+        List<QuickFixProblemContext> problemContexts = new ArrayList<>();
+        if (context != null && locations != null) {
+            QuickFixProblemContext shared = null;
+            for (IProblemLocation location : locations) {
+                ProblemDescriptor descriptor = getProblemDescriptor(
+                    location.getProblemId(), location.getMarkerType(), location.getProblemArguments());
+                if (descriptor != null) {
+                    QuickFixProblemContext problemContext = new QuickFixProblemContext(descriptor, context, location, shared);
+                    problemContexts.add(problemContext);
+                    if (shared == null) {
+                        shared = problemContext;
+                    }
+                }
+            }
         }
-        return null;
+        return problemContexts;
     }
 
     /** not API.  Public for testing purposes */
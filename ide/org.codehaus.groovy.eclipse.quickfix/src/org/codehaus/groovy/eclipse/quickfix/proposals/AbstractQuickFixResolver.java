@@ -18,9 +18,7 @@ package org.codehaus.groovy.eclipse.quickfix.proposals;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * Base Groovy quick fix resolver that makes it more convenient for concrete
@@ -67,17 +65,7 @@ public abstract class AbstractQuickFixResolver implements IQuickFixResolver {
 
     protected IType[] getContextTypes() {
         QuickFixProblemContext context = getQuickFixProblem();
-        if (context != null) {
-            ICompilationUnit unit = context.getCompilationUnit();
-            if (unit != null) {
-                try {
-                    return unit.getAllTypes();
-                } catch (JavaModelException e) {
-                    // do nothing
-                }
-            }
-        }
-        return null;
+        return (context != null ? context.getContextTypes() : null);
     }
 
     /**
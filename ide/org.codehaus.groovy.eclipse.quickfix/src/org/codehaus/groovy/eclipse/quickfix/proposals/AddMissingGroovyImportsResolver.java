@@ -17,7 +17,9 @@ package org.codehaus.groovy.eclipse.quickfix.proposals;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,9 +28,12 @@ import org.codehaus.groovy.eclipse.quickfix.GroovyQuickFixPlugin;
 import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch;
 import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch.UnresolvedTypeData;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
@@ -43,9 +48,15 @@ import org.eclipse.text.edits.TextEdit;
  * be imported, the resolver will generate 5 different proposals, one for each
  * suggested type. Each proposal has its own display string indicating which
  * type will be imported.
+ * <p>
+ * If several unresolved types of the file have exactly one candidate each, an
+ * additional proposal imports all of them at once.  The candidates for all the
+ * unresolved types of the file are found by a single type search.
  */
 public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 
+    private static final Pattern IDENTIFIER = Pattern.compile("\\b\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*\\b");
+
     public AddMissingGroovyImportsResolver(QuickFixProblemContext problem) {
         super(problem);
     }
@@ -108,6 +119,48 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
         }
     }
 
+    public static class AddAllMissingImportsProposal extends AbstractGroovyQuickFixProposal {
+
+        private final List<IType> suggestedTypes;
+        private final GroovyCompilationUnit unit;
+
+        public AddAllMissingImportsProposal(List<IType> suggestedTypes, GroovyCompilationUnit unit, QuickFixProblemContext problem) {
+            super(problem);
+            this.suggestedTypes = suggestedTypes;
+            this.unit = unit;
+        }
+
+        public List<IType> getSuggestedJavaTypes() {
+            return Collections.unmodifiableList(suggestedTypes);
+        }
+
+        @Override
+        protected String getImageBundleLocation() {
+            return JavaPluginImages.IMG_OBJS_IMPDECL;
+        }
+
+        @Override
+        public void apply(IDocument document) {
+            try {
+                ImportRewrite rewrite = ImportRewrite.create(unit, true);
+                for (IType type : suggestedTypes) {
+                    rewrite.addImport(type.getFullyQualifiedName('.'));
+                }
+                TextEdit edit = rewrite.rewriteImports(null);
+                if (edit != null) {
+                    unit.applyTextEdit(edit, null);
+                }
+            } catch (Exception e) {
+                GroovyQuickFixPlugin.log(e);
+            }
+        }
+
+        @Override
+        public String getDisplayString() {
+            return "Import all unresolved types (" + suggestedTypes.size() + ")";
+        }
+    }
+
     @Override
     protected ProblemType[] getTypes() {
         return new ProblemType[] {ProblemType.MISSING_IMPORTS_TYPE};
@@ -119,29 +172,89 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
      * @return list of type suggestions for the unresolved type, or null if nothing is found
      */
     protected List<IType> getImportTypeSuggestions() {
-        int offset = getQuickFixProblem().getOffset();
-        try {
-            String simpleTypeName = getUnresolvedSimpleName();
-            if (simpleTypeName != null) {
-                String[] messages = getQuickFixProblem().getProblemDescriptor().getMarkerMessages();
-                boolean isAnnotation = (messages[0].contains("@" + simpleTypeName) || messages[0].endsWith("unable to find class for annotation"));
-                UnresolvedTypeData data = new UnresolvedTypeData(simpleTypeName, isAnnotation, new SourceRange(offset, simpleTypeName.length()));
-
-                new TypeSearch().searchForTypes(getGroovyCompilationUnit(), Collections.singletonMap(simpleTypeName, data), null);
-
-                List<TypeNameMatch> matches = data.getFoundInfos();
-                if (matches != null && !matches.isEmpty()) {
-                    List<IType> suggestions = new ArrayList<>(matches.size());
-                    for (TypeNameMatch match : matches) {
-                        suggestions.add(match.getType());
-                    }
-                    return suggestions;
+        String simpleTypeName = getUnresolvedSimpleName();
+        if (simpleTypeName != null) {
+            String message = getQuickFixProblem().getProblemDescriptor().getMarkerMessages()[0];
+            UnresolvedTypeData data = new UnresolvedTypeData(simpleTypeName,
+                isAnnotation(message, simpleTypeName), new SourceRange(getQuickFixProblem().getOffset(), simpleTypeName.length()));
+
+            List<TypeNameMatch> matches = findTypes(Collections.singletonMap(simpleTypeName, data));
+            if (matches != null && !matches.isEmpty()) {
+                List<IType> suggestions = new ArrayList<>(matches.size());
+                for (TypeNameMatch match : matches) {
+                    suggestions.add(match.getType());
                 }
+                return suggestions;
             }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the types to import for the unresolved types of the whole file
+     * that have exactly one candidate.  The unresolved types are taken from the
+     * problems of the AST root of the invocation and are only collected once
+     * for all the problems of the invocation.
+     *
+     * @return list of types to import, or null if the problems are unavailable
+     */
+    protected List<IType> getAllImportTypeSuggestions() {
+        return getQuickFixProblem().getSharedValue(AddAllMissingImportsProposal.class, this::findAllImportTypeSuggestions);
+    }
+
+    private List<IType> findAllImportTypeSuggestions() {
+        CompilationUnit astRoot = getQuickFixProblem().getASTRoot();
+        if (astRoot == null) {
+            return null;
+        }
+        Map<String, UnresolvedTypeData> missingTypes = new LinkedHashMap<>();
+        for (IProblem problem : astRoot.getProblems()) {
+            String[] messages = {problem.getMessage()};
+            if (problem.isError() && ProblemType.getProblemType(problem.getID(), IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, messages) == ProblemType.MISSING_IMPORTS_TYPE) {
+                String simpleTypeName = getUnresolvedSimpleName(messages);
+                if (simpleTypeName != null && !missingTypes.containsKey(simpleTypeName)) {
+                    missingTypes.put(simpleTypeName, new UnresolvedTypeData(simpleTypeName, isAnnotation(messages[0], simpleTypeName),
+                        new SourceRange(problem.getSourceStart(), simpleTypeName.length())));
+                }
+            }
+        }
+        if (missingTypes.isEmpty()) {
+            return null;
+        }
+        // the search for all names also serves the single-type suggestions of this invocation
+        findTypes(missingTypes);
+
+        List<IType> suggestions = new ArrayList<>(missingTypes.size());
+        for (UnresolvedTypeData data : missingTypes.values()) {
+            List<TypeNameMatch> matches = data.getFoundInfos();
+            if (matches != null && matches.size() == 1) {
+                suggestions.add(matches.get(0).getType());
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Finds the candidates for the given unresolved types in a single search,
+     * reusing the results of earlier searches of the same invocation.
+     *
+     * @return the candidates of the first unresolved type
+     */
+    private List<TypeNameMatch> findTypes(Map<String, UnresolvedTypeData> missingTypes) {
+        try {
+            List<TypeNameMatch> matches = new ArrayList<>();
+            for (List<TypeNameMatch> found : getQuickFixProblem().findTypes(missingTypes.keySet()).values()) {
+                matches.addAll(found);
+            }
+            new TypeSearch().addMatches(matches, missingTypes);
         } catch (JavaModelException e) {
             GroovyQuickFixPlugin.log(e);
         }
-        return null;
+        return missingTypes.values().iterator().next().getFoundInfos();
+    }
+
+    private static boolean isAnnotation(String message, String simpleTypeName) {
+        return (message.contains("@" + simpleTypeName) || message.endsWith("unable to find class for annotation"));
     }
 
     /**
@@ -158,7 +271,10 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
         // directly point to the actual unresolved type in source, but rather
         // surrounding identifiers like variable names, method names, and even
         // Java key words.
-        String[] messages = getQuickFixProblem().getProblemDescriptor().getMarkerMessages();
+        return getUnresolvedSimpleName(getQuickFixProblem().getProblemDescriptor().getMarkerMessages());
+    }
+
+    private static String getUnresolvedSimpleName(String[] messages) {
         if (messages == null || messages.length == 0) {
             return null;
         }
@@ -166,8 +282,7 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
         for (String text : ProblemType.MISSING_IMPORTS_TYPE.groovyProblemSnippets) {
             int startIndex = messages[0].indexOf(text);
             if (startIndex >= 0) {
-                Pattern pattern = Pattern.compile("\\b\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*\\b");
-                Matcher matcher = pattern.matcher(messages[0].substring(startIndex + text.length()));
+                Matcher matcher = IDENTIFIER.matcher(messages[0].substring(startIndex + text.length()));
                 if (matcher.find()) {
                     return getTopLevelType(matcher.group());
                 }
@@ -198,12 +313,16 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 
     @Override
     public List<IJavaCompletionProposal> getQuickFixProposals() {
+        List<IType> allSuggestions = getAllImportTypeSuggestions();
         List<IType> suggestions = getImportTypeSuggestions();
         if (suggestions != null && !suggestions.isEmpty()) {
             List<IJavaCompletionProposal> fixes = new ArrayList<>(suggestions.size());
             for (IType type : suggestions) {
                 fixes.add(new AddMissingImportProposal(type, getGroovyCompilationUnit(), getQuickFixProblem(), getRelevance(type)));
             }
+            if (allSuggestions != null && allSuggestions.size() > 1) {
+                fixes.add(new AddAllMissingImportsProposal(allSuggestions, getGroovyCompilationUnit(), getQuickFixProblem()));
+            }
             return fixes;
         }
         return null;
@@ -15,27 +15,58 @@
  */
 package org.codehaus.groovy.eclipse.quickfix.proposals;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.codehaus.groovy.eclipse.quickfix.GroovyQuickFixPlugin;
+import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ui.text.java.IProblemLocation;
 
 /**
  * Base implementation of a quick fix problem.
+ * <p>
+ * Problem contexts created for the same quick fix invocation share their
+ * state, so the context types, the type search results and other values
+ * registered with {@link #getSharedValue} are computed once for all resolvers
+ * and problems.
  */
 public class QuickFixProblemContext {
 
     private final ProblemDescriptor problemDescriptor;
     private final IInvocationContext context;
     private final IProblemLocation location;
+    private final SharedState shared;
 
     public QuickFixProblemContext(ProblemDescriptor problemDescriptor, IInvocationContext context,
             IProblemLocation location) {
-                this.problemDescriptor = problemDescriptor;
-                this.context = context;
-                this.location = location;
+        this(problemDescriptor, context, location, null);
+    }
+
+    /**
+     * @param sharedWith context of the same invocation whose cached context
+     *     types and type search results should be reused; may be {@code null}
+     */
+    public QuickFixProblemContext(ProblemDescriptor problemDescriptor, IInvocationContext context,
+            IProblemLocation location, QuickFixProblemContext sharedWith) {
+        this.problemDescriptor = problemDescriptor;
+        this.context = context;
+        this.location = location;
+        this.shared = (sharedWith != null ? sharedWith.shared : new SharedState());
     }
 
     /**
@@ -113,4 +144,96 @@ public class QuickFixProblemContext {
     public IProblemLocation getLocation() {
         return location;
     }
+
+    /**
+     * Returns the value stored under the given key by an earlier call of this
+     * invocation; the value is computed by the supplier on the first call.
+     * Since all the problems of an invocation belong to the same AST, values
+     * derived from the AST root can be shared this way.
+     *
+     * @return the shared value, which may be {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getSharedValue(Object key, Supplier<T> supplier) {
+        synchronized (shared) {
+            if (!shared.values.containsKey(key)) {
+                shared.values.put(key, supplier.get());
+            }
+            return (T) shared.values.get(key);
+        }
+    }
+
+    /**
+     * @return the types declared in the compilation unit containing the
+     *     problem, or {@code null} if they cannot be determined
+     */
+    public IType[] getContextTypes() {
+        synchronized (shared) {
+            if (!shared.contextTypesFetched) {
+                shared.contextTypesFetched = true;
+                ICompilationUnit unit = getCompilationUnit();
+                if (unit != null) {
+                    try {
+                        shared.contextTypes = unit.getAllTypes();
+                    } catch (JavaModelException e) {
+                        // do nothing
+                    }
+                }
+            }
+            return shared.contextTypes;
+        }
+    }
+
+    /**
+     * Finds the types with the given simple names.  Names that were not
+     * searched for before by this invocation are looked up together in a
+     * single search of the project.
+     *
+     * @return all matches per simple name, including those excluded by the
+     *     type filter; names without matches map to an empty list
+     */
+    public Map<String, List<TypeNameMatch>> findTypes(Collection<String> simpleNames) {
+        Map<String, List<TypeNameMatch>> result = new HashMap<>();
+        synchronized (shared) {
+            Set<String> missing = new LinkedHashSet<>();
+            for (String simpleName : simpleNames) {
+                if (!shared.typeMatches.containsKey(simpleName)) {
+                    missing.add(simpleName);
+                }
+            }
+            if (!missing.isEmpty() && getCompilationUnit() instanceof GroovyCompilationUnit) {
+                for (String simpleName : missing) {
+                    shared.typeMatches.put(simpleName, new ArrayList<>());
+                }
+                try {
+                    for (TypeNameMatch match : new TypeSearch().findTypes((GroovyCompilationUnit) getCompilationUnit(), missing, null)) {
+                        List<TypeNameMatch> matches = shared.typeMatches.get(match.getSimpleTypeName());
+                        if (matches != null && missing.contains(match.getSimpleTypeName())) {
+                            matches.add(match);
+                        }
+                    }
+                } catch (JavaModelException e) {
+                    shared.typeMatches.keySet().removeAll(missing);
+                    GroovyQuickFixPlugin.log(e);
+                }
+            }
+            for (String simpleName : simpleNames) {
+                List<TypeNameMatch> matches = shared.typeMatches.get(simpleName);
+                result.put(simpleName, matches != null ? matches : new ArrayList<>());
+            }
+        }
+        return result;
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Values that are the same for every problem of one quick fix invocation.
+     */
+    private static class SharedState {
+        IType[] contextTypes;
+        boolean contextTypesFetched;
+        final Map<String, List<TypeNameMatch>> typeMatches = new HashMap<>();
+        final Map<Object, Object> values = new HashMap<>();
+    }
 }
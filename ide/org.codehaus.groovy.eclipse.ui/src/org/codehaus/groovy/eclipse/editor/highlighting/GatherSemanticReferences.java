@@ -22,9 +22,11 @@ import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.core.preferences.PreferenceConstants;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.text.IRegion;
 
 /**
  * Created and invoked on Groovy compilation units to collect code semantics
@@ -39,10 +41,33 @@ public class GatherSemanticReferences {
     }
 
     public Collection<HighlightedTypedPosition> findSemanticHighlightingReferences() {
+        return findSemanticHighlightingReferences(null);
+    }
+
+    /**
+     * @param monitor checked for cancellation while inferencing; if canceled,
+     *     the references found so far are returned
+     */
+    public Collection<HighlightedTypedPosition> findSemanticHighlightingReferences(IProgressMonitor monitor) {
+        return findSemanticHighlightingReferences(null, monitor);
+    }
+
+    /**
+     * @param region if not {@code null}, only the declarations that overlap
+     *     this source range are visited; references outside of it may be
+     *     missing or incomplete
+     * @param monitor checked for cancellation while inferencing; if canceled,
+     *     the references found so far are returned
+     */
+    public Collection<HighlightedTypedPosition> findSemanticHighlightingReferences(IRegion region, IProgressMonitor monitor) {
         if (unit != null) {
             try { // TODO: Time this tasks components and find opportunities to make it run faster.
                 SemanticHighlightingReferenceRequestor requestor = new SemanticHighlightingReferenceRequestor(unit);
                 TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
+                visitor.setProgressMonitor(monitor);
+                if (region != null) {
+                    visitor.setRegion(region.getOffset(), region.getLength());
+                }
                 visitor.visitCompilationUnit(requestor);
                 return requestor.typedPosition;
             } catch (Exception e) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,8 +26,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
 import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
@@ -35,6 +33,9 @@ import org.codehaus.groovy.eclipse.core.preferences.PreferenceConstants;
 import org.codehaus.groovy.eclipse.editor.GroovyEditor;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
@@ -45,9 +46,13 @@ import org.eclipse.jdt.internal.ui.text.JavaPresentationReconciler;
 import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.RGB;
@@ -97,9 +102,37 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
         }
     }
 
+    /**
+     * If set, the declarations around the visible range are inferred and
+     * presented before the whole file is inferred.
+     */
+    private static final boolean VIEWPORT_FIRST = Boolean.getBoolean("greclipse.semanticHighlighting.viewportFirst");
+
     private volatile GroovyEditor editor;
-    private SemanticHighlightingPresenter presenter;
-    private final Semaphore lock = new Semaphore(1, true);
+    private volatile SemanticHighlightingPresenter presenter;
+
+    /**
+     * The document range shown by the editor, captured on the UI thread when
+     * installed and after each reconcile; {@code null} if unknown.
+     */
+    private volatile IRegion visibleRegion;
+
+    /**
+     * Highlights the latest reconciled version of the editor's document.
+     * Scheduling the job while it is running makes it run once more when the
+     * current run ends, so rapid reconciles coalesce into at most one more run.
+     */
+    private final Job highlightingJob = new Job("Groovy semantic highlighting") {
+        {
+            setSystem(true);
+            setPriority(SHORT);
+        }
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            highlight(monitor);
+            return (monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS);
+        }
+    };
 
     // make these configurable
     private Object mapKeyHighlighting;
@@ -209,12 +242,14 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
         this.editor = editor;
         presenter = new SemanticHighlightingPresenter();
         presenter.install(viewer, (JavaPresentationReconciler) editor.getGroovyConfiguration().getPresentationReconciler(viewer));
+        visibleRegion = getVisibleRegion(viewer);
     }
 
     public void uninstall() {
+        editor = null;
+        highlightingJob.cancel();
         presenter.uninstall();
         presenter = null;
-        editor = null;
     }
 
     @Override
@@ -223,83 +258,162 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
 
     @Override
     public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor monitor) {
-        if (ast != null && synchronize())
+        GroovyEditor editor = this.editor;
+        if (ast != null && editor != null) {
+            // only the latest version of the document is worth highlighting; stop
+            // the current run (if any) and start over once it has been canceled
+            highlightingJob.cancel();
+            highlightingJob.schedule();
+
+            // the job must not wait for the UI thread, which may be waiting for it
+            ISourceViewer viewer = editor.getViewer();
+            StyledText text = (viewer != null ? viewer.getTextWidget() : null);
+            if (text != null && !text.isDisposed()) {
+                text.getDisplay().asyncExec(() -> {
+                    if (this.editor == editor) {
+                        visibleRegion = getVisibleRegion(viewer);
+                    }
+                });
+            }
+        }
+    }
+
+    private void highlight(IProgressMonitor monitor) {
+        GroovyEditor editor = this.editor;
+        SemanticHighlightingPresenter presenter = this.presenter;
+        if (editor == null || presenter == null) return; // uninstalled?
         try {
-            if (editor == null) return; // uninstalled?
             monitor.beginTask("Groovy semantic highlighting", 10);
             GroovyCompilationUnit unit = editor.getGroovyCompilationUnit();
             if (unit != null) {
                 presenter.setCanceled(monitor.isCanceled());
                 if (update(monitor, 1)) return;
 
+                IRegion visible = visibleRegion;
                 GatherSemanticReferences finder = new GatherSemanticReferences(unit);
-                Collection<HighlightedTypedPosition> semanticReferences = finder.findSemanticHighlightingReferences();
-                if (update(monitor, 5)) return;
-
-                List<Position> newPositions = new ArrayList<>(semanticReferences.size());
-                List<Position> oldPositions = new LinkedList<>(getHighlightedPositions());
-                if (update(monitor, 1)) return;
-
-                HighlightedTypedPosition last = null; Position x = null;
-                for (HighlightedTypedPosition ref : semanticReferences) {
-                    if (ref.compareTo(last) != 0) {
-                        Position pos = newHighlightedPosition(ref);
-                        x = tryAddPosition(newPositions, oldPositions, pos);
-
-                    } else if (GET_HIGHLIGHTING != null && (ref.kind == DEPRECATED || ref.kind == UNKNOWN)) {
-                        // this and last cover same source range and this indicates deprecated or unknown
-                        Position pos = !newPositions.isEmpty() ? newPositions.get(newPositions.size() - 1) : null;
-                        if (ref.compareTo(pos) != 0) {
-                            if (ref.compareTo(x) == 0) {
-                                pos = newHighlightedPosition(last);
-                                newPositions.add(pos);
-                                oldPositions.add(x);
-                            } else {
-                                GroovyPlugin.getDefault().logWarning(
-                                    String.format("Failed to apply %s semantic at %s",
-                                    ref.kind.name().toLowerCase(), ((Position) ref).toString()));
-                                continue; // logic error?
-                            }
-                        }
-                        Object style = GET_HIGHLIGHTING.invoke(pos);
-                        TextAttribute one = getTextAttribute(style);
-                        TextAttribute two = getTextAttribute(ref.kind == DEPRECATED ? deprecatedRefHighlighting : undefinedRefHighlighting);
-                        // merge the text styling assigned to deprecated or unknown (usually strikethrough for deprecated and underline for unknown)
-                        ReflectionUtils.setPrivateField(pos.getClass(), "fStyle", pos, newHighlightingStyle(one.getForeground(), one.getStyle() | two.getStyle()));
-                    }
-                    last = ref;
-                }
-                if (update(monitor, 2)) return;
-
-                TextPresentation textPresentation = null;
-                if (!presenter.isCanceled()) {
-                    textPresentation = presenter.createPresentation(newPositions, oldPositions);
-                }
-                if (!presenter.isCanceled()) {
-                    updatePresentation(textPresentation, newPositions, oldPositions);
+                List<Position> oldPositions = new LinkedList<>(getHighlightedPositions(presenter));
+
+                if (visible == null) {
+                    Collection<HighlightedTypedPosition> semanticReferences = finder.findSemanticHighlightingReferences(monitor);
+                    if (update(monitor, 6)) return;
+
+                    List<Position> newPositions = collectPositions(semanticReferences, oldPositions);
+                    if (update(monitor, 2)) return;
+
+                    updatePresentation(presenter, newPositions, oldPositions);
+                } else if (VIEWPORT_FIRST) {
+                    // infer and present the declarations around the visible range before the rest of the file
+                    IRegion focus = new Region(Math.max(0, visible.getOffset() - visible.getLength()), visible.getLength() * 3);
+                    Collection<HighlightedTypedPosition> semanticReferences = finder.findSemanticHighlightingReferences(focus, monitor);
+                    if (update(monitor, 1)) return;
+                    present(presenter, semanticReferences, oldPositions, focus, true);
+                    if (update(monitor, 1)) return;
+
+                    semanticReferences = finder.findSemanticHighlightingReferences(monitor);
+                    if (update(monitor, 5)) return;
+                    present(presenter, semanticReferences, oldPositions, focus, false);
+                } else {
+                    Collection<HighlightedTypedPosition> semanticReferences = finder.findSemanticHighlightingReferences(monitor);
+                    if (update(monitor, 6)) return;
+
+                    // present the visible positions first, so they do not wait for the rest of the file
+                    present(presenter, semanticReferences, oldPositions, visible, true);
+                    if (update(monitor, 1)) return;
+                    present(presenter, semanticReferences, oldPositions, visible, false);
                 }
                 update(monitor, 1);
             }
         } catch (Exception e) {
-            GroovyCore.logException("Semantic highlighting failed", e);
+            if (this.editor != null) {
+                GroovyCore.logException("Semantic highlighting failed", e);
+            }
         } finally {
-            lock.release();
             monitor.done();
         }
     }
 
     /**
-     * Ensures that only one thread at a time performs this task.
+     * Presents the references and replaces the old positions that are either
+     * inside or outside of the given source range.
      */
-    private boolean synchronize() {
-        try {
-            boolean acquired = lock.tryAcquire(2, TimeUnit.SECONDS);
-            if (!acquired)
-                GroovyPlugin.getDefault().logWarning("Failed to acquire semantic highlight semaphore");
-            return acquired;
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    private void present(SemanticHighlightingPresenter presenter, Collection<HighlightedTypedPosition> semanticReferences,
+            List<Position> oldPositions, IRegion region, boolean inside) throws Exception {
+        List<HighlightedTypedPosition> references = new ArrayList<>();
+        for (HighlightedTypedPosition ref : semanticReferences) {
+            if (ref.overlapsWith(region.getOffset(), region.getLength()) == inside) {
+                references.add(ref);
+            }
+        }
+        List<Position> removedPositions = new LinkedList<>();
+        for (Position pos : oldPositions) {
+            if (pos.overlapsWith(region.getOffset(), region.getLength()) == inside) {
+                removedPositions.add(pos);
+            }
+        }
+
+        List<Position> newPositions = collectPositions(references, removedPositions);
+        updatePresentation(presenter, newPositions, removedPositions);
+    }
+
+    /**
+     * Converts semantic references into highlighted positions.  Old positions
+     * that are the same as a new position are removed from
+     * {@code oldPositions} and reused, so they are not presented again.
+     *
+     * @param semanticReferences references sorted by source location
+     * @return the positions to add
+     */
+    private List<Position> collectPositions(Collection<HighlightedTypedPosition> semanticReferences, List<Position> oldPositions) throws Exception {
+        List<Position> newPositions = new ArrayList<>(semanticReferences.size());
+
+        HighlightedTypedPosition last = null; Position x = null;
+        for (HighlightedTypedPosition ref : semanticReferences) {
+            if (ref.compareTo(last) != 0) {
+                Position pos = newHighlightedPosition(ref);
+                x = tryAddPosition(newPositions, oldPositions, pos);
+
+            } else if (GET_HIGHLIGHTING != null && (ref.kind == DEPRECATED || ref.kind == UNKNOWN)) {
+                // this and last cover same source range and this indicates deprecated or unknown
+                Position pos = !newPositions.isEmpty() ? newPositions.get(newPositions.size() - 1) : null;
+                if (ref.compareTo(pos) != 0) {
+                    if (ref.compareTo(x) == 0) {
+                        pos = newHighlightedPosition(last);
+                        newPositions.add(pos);
+                        oldPositions.add(x);
+                    } else {
+                        GroovyPlugin.getDefault().logWarning(
+                            String.format("Failed to apply %s semantic at %s",
+                            ref.kind.name().toLowerCase(), ((Position) ref).toString()));
+                        continue; // logic error?
+                    }
+                }
+                Object style = GET_HIGHLIGHTING.invoke(pos);
+                TextAttribute one = getTextAttribute(style);
+                TextAttribute two = getTextAttribute(ref.kind == DEPRECATED ? deprecatedRefHighlighting : undefinedRefHighlighting);
+                // merge the text styling assigned to deprecated or unknown (usually strikethrough for deprecated and underline for unknown)
+                ReflectionUtils.setPrivateField(pos.getClass(), "fStyle", pos, newHighlightingStyle(one.getForeground(), one.getStyle() | two.getStyle()));
+            }
+            last = ref;
         }
+        return newPositions;
+    }
+
+    /**
+     * Must be called from the UI thread.
+     *
+     * @return the document range shown by the viewer, or {@code null} if it
+     *     cannot be determined
+     */
+    private static IRegion getVisibleRegion(ISourceViewer viewer) {
+        StyledText text = (viewer != null ? viewer.getTextWidget() : null);
+        if (text == null || text.isDisposed()) {
+            return null;
+        }
+        int start = viewer.getTopIndexStartOffset(), end = viewer.getBottomIndexEndOffset();
+        if (start >= 0 && end >= start) {
+            return new Region(start, end - start + 1);
+        }
+        return null;
     }
 
     private boolean update(IProgressMonitor monitor, int units) {
@@ -308,7 +422,7 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
     }
 
     @SuppressWarnings("unchecked")
-    private List<Position> getHighlightedPositions() {
+    private static List<Position> getHighlightedPositions(SemanticHighlightingPresenter presenter) {
         // NOTE: Be very careful with this; fPositions is often accessed synchronously!
         return (List<Position>) ReflectionUtils.getPrivateField(SemanticHighlightingPresenter.class, "fPositions", presenter);
     }
@@ -411,11 +525,17 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
     /**
      * Update the presentation.
      *
-     * @param textPresentation the text presentation
      * @param addedPositions the added positions
      * @param removedPositions the removed positions
      */
-    private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
+    private void updatePresentation(SemanticHighlightingPresenter presenter, List<Position> addedPositions, List<Position> removedPositions) {
+        if (presenter.isCanceled())
+            return;
+
+        TextPresentation textPresentation = presenter.createPresentation(addedPositions, removedPositions);
+        if (presenter.isCanceled())
+            return;
+
         Runnable runnable = presenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
         if (runnable == null)
             return;
@@ -15,7 +15,10 @@
  */
 package org.codehaus.groovy.eclipse.editor.outline;
 
+import java.util.List;
+
 import org.codehaus.groovy.eclipse.editor.GroovyEditor;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaOutlinePage;
 import org.eclipse.jface.action.IMenuManager;
@@ -53,11 +56,20 @@ public class GroovyOutlinePage extends JavaOutlinePage {
     }
 
     public void refresh() {
-        getOutlineCompilationUnit().refresh();
+        OCompilationUnit unit = getOutlineCompilationUnit();
+        unit.refresh();
+        List<IJavaElement> changed = unit.takeChangedElements();
 
         JavaOutlineViewer outlineViewer = getOutlineViewer();
         if (outlineViewer != null) {
-            outlineViewer.refresh();
+            if (changed == null) {
+                outlineViewer.refresh();
+            } else {
+                // structure is unchanged; only update the subtrees that may differ
+                for (IJavaElement element : changed) {
+                    outlineViewer.refresh(element, true);
+                }
+            }
         }
     }
 
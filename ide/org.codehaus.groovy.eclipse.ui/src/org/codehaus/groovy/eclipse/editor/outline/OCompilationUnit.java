@@ -15,17 +15,27 @@
  */
 package org.codehaus.groovy.eclipse.editor.outline;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.eclipse.codebrowsing.elements.IGroovyResolvedElement;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragment;
+import org.eclipse.jdt.internal.core.SourceField;
+import org.eclipse.jdt.internal.core.SourceMethod;
+import org.eclipse.jdt.internal.core.SourceType;
 
 public abstract class OCompilationUnit extends GroovyCompilationUnit implements IOJavaElement {
 
@@ -33,6 +43,12 @@ public abstract class OCompilationUnit extends GroovyCompilationUnit implements
 
     private IJavaElement[] children = null;
 
+    /**
+     * Elements whose subtrees changed during the last refresh, or {@code null}
+     * if the top-level structure changed
+     */
+    private List<IJavaElement> changedElements;
+
     public OCompilationUnit(GroovyCompilationUnit unit) {
         super((PackageFragment) unit.getParent(), unit.getElementName(), unit.getOwner());
         this.unit = unit;
@@ -74,10 +90,124 @@ public abstract class OCompilationUnit extends GroovyCompilationUnit implements
      */
     protected void refresh() {
         if (this.exists()) {
-            this.children = refreshChildren();
+            IJavaElement[] oldChildren = this.children;
+            IJavaElement[] newChildren = refreshChildren();
+            List<IJavaElement> changed = new ArrayList<>();
+            if (oldChildren != null && newChildren != null && reconcile(oldChildren, newChildren, changed)) {
+                this.changedElements = changed;
+            } else {
+                this.changedElements = null;
+            }
+            this.children = newChildren;
         }
     }
 
+    /**
+     * Returns the elements whose subtrees changed during the last refresh and
+     * resets them, so that a refresh that does not go through this class is
+     * treated as a structure change.
+     *
+     * @return changed elements, or {@code null} if the whole outline changed
+     */
+    List<IJavaElement> takeChangedElements() {
+        List<IJavaElement> changed = changedElements;
+        changedElements = null;
+        return changed;
+    }
+
+    /**
+     * Replaces elements of {@code newChildren} with the equivalent elements of
+     * {@code oldChildren}, so that outline viewer items and selections survive
+     * edits that only move elements.  Elements are matched by kind, name and
+     * occurrence; outline elements take the new AST node and Java model type,
+     * method and field handles are reported as changed since their members are
+     * not known here.  Resolved elements and other Java model elements are
+     * always replaced.
+     *
+     * @return {@code true} if the new children are the old children in the
+     *     same order
+     */
+    private static boolean reconcile(IJavaElement[] oldChildren, IJavaElement[] newChildren, List<IJavaElement> changed) {
+        Map<String, IJavaElement> previous = new HashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (IJavaElement child : oldChildren) {
+            previous.put(key(child, occurrences), child);
+        }
+        occurrences.clear();
+
+        boolean same = (oldChildren.length == newChildren.length);
+        for (int i = 0, n = newChildren.length; i < n; i += 1) {
+            IJavaElement oldChild = previous.remove(key(newChildren[i], occurrences));
+            if (oldChild != null && reuse(oldChild, newChildren[i], changed)) {
+                newChildren[i] = oldChild;
+            }
+            if (same && oldChildren[i] != newChildren[i]) {
+                same = false;
+            }
+        }
+        return same;
+    }
+
+    private static boolean reuse(IJavaElement oldChild, IJavaElement newChild, List<IJavaElement> changed) {
+        if (oldChild.getClass() != newChild.getClass()) {
+            return false;
+        }
+        if (oldChild instanceof IGroovyResolvedElement) {
+            // holds the AST node it was resolved from
+            return false;
+        }
+        if (oldChild instanceof OField) {
+            OField oldField = (OField) oldChild, newField = (OField) newChild;
+            if (!Objects.equals(oldField.getTypeSignature(), newField.getTypeSignature()) ||
+                    getFlags(oldField) != getFlags(newField)) {
+                return false;
+            }
+            oldField.node = newField.node;
+        } else if (oldChild instanceof OMethod) {
+            OMethod oldMethod = (OMethod) oldChild, newMethod = (OMethod) newChild;
+            if (!Objects.equals(oldMethod.getReturnTypeName(), newMethod.getReturnTypeName()) ||
+                    !Arrays.equals(oldMethod.getParameterTypes(), newMethod.getParameterTypes()) ||
+                    getFlags(oldMethod) != getFlags(newMethod)) {
+                return false;
+            }
+            oldMethod.node = newMethod.node;
+        } else if (oldChild instanceof OType) {
+            OType oldType = (OType) oldChild, newType = (OType) newChild;
+            IJavaElement[] members = newType.getChildrenList().toArray(new IJavaElement[0]);
+            if (!reconcile(oldType.getChildrenList().toArray(new IJavaElement[0]), members, changed)) {
+                changed.add(oldType);
+            }
+            oldType.getChildrenList().clear();
+            for (IJavaElement member : members) {
+                oldType.addChild((IMember) member);
+            }
+            oldType.node = newType.node;
+        } else if (oldChild instanceof IOJavaElement ||
+                !(oldChild instanceof SourceType || oldChild instanceof SourceMethod || oldChild instanceof SourceField)) {
+            return false;
+        } else {
+            // Java model handle; its label and members may have changed
+            if (!oldChild.equals(newChild)) {
+                return false;
+            }
+            changed.add(oldChild);
+        }
+        return true;
+    }
+
+    private static int getFlags(IMember member) {
+        try {
+            return member.getFlags();
+        } catch (JavaModelException e) {
+            return -1;
+        }
+    }
+
+    private static String key(IJavaElement element, Map<String, Integer> occurrences) {
+        String key = element.getElementType() + ":" + element.getElementName();
+        return key + "#" + occurrences.merge(key, 1, Integer::sum);
+    }
+
     /**
      * get children
      */
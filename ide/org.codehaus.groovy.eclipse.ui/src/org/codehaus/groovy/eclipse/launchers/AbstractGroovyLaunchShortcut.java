@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.core.preferences.PreferenceConstants;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyProjectFacade;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -165,6 +166,11 @@ public abstract class AbstractGroovyLaunchShortcut  implements ILaunchShortcut {
         if (unit != null) {
             IType[] types = null;
             try {
+                // reject a file that cannot be run before its model is built
+                if (unit instanceof GroovyCompilationUnit && !LaunchShortcutHelper.hasRunnableType(unit)) {
+                    GroovyCore.errorRunningGroovy(new Exception(msg));
+                    return;
+                }
                 types = unit.getAllTypes();
             } catch (JavaModelException e) {
                 GroovyCore.errorRunningGroovy(e);
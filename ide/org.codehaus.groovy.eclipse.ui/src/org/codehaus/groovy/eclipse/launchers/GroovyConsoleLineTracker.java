@@ -15,8 +15,13 @@
  */
 package org.codehaus.groovy.eclipse.launchers;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,7 +32,11 @@ import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.ui.console.FileLink;
 import org.eclipse.debug.ui.console.IConsole;
 import org.eclipse.debug.ui.console.IConsoleLineTracker;
@@ -42,6 +51,7 @@ import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.window.Window;
 import org.eclipse.ui.console.ConsolePlugin;
 import org.eclipse.ui.console.IHyperlink;
+import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.dialogs.ListDialog;
 import org.eclipse.ui.model.WorkbenchLabelProvider;
 
@@ -93,13 +103,47 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
         }
     }
 
-    private IConsole console;
+    /**
+     * Resolves the hyperlinks of stack trace lines in a background job, a chunk
+     * of lines at a time, instead of while each line is appended.
+     */
+    private static final boolean BATCHED = Boolean.getBoolean("greclipse.console.batchedLinks");
+
+    /**
+     * Number of characters a console keeps before it discards its oldest
+     * output; {@code 0} leaves the limit of the console preferences.
+     */
+    private static final int MAX_CHARS = Integer.getInteger("greclipse.console.maxChars", 0);
+
+    /** Lines waiting for the link job; the oldest are dropped beyond this. */
+    private static final int MAX_PENDING_LINES = 10000;
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final long BATCH_DELAY = 200;
+
+    private volatile IConsole console;
     private final static Pattern linePattern = Pattern.compile(".*\\((.*)\\.groovy(:(.*))?\\)");
 
+    /**
+     * Files found for the file names of stack trace lines.  Names that were
+     * not found are not cached, so that files created while the console is
+     * open are linked too; cached files that are no longer accessible are
+     * searched for again.
+     */
+    private final Map<String, IFile[]> files = new ConcurrentHashMap<>();
+    private final Deque<PendingLine> pending = new ArrayDeque<>();
+    private Job linkJob;
 
     @Override
     public void init(IConsole console) {
         this.console = console;
+        if (MAX_CHARS > 0 && console instanceof IOConsole) {
+            IOConsole ioConsole = (IOConsole) console;
+            if (ioConsole.getHighWaterMark() < 0 || ioConsole.getHighWaterMark() > MAX_CHARS) {
+                ioConsole.setWaterMarks(MAX_CHARS - MAX_CHARS / 5, MAX_CHARS);
+            }
+        }
     }
 
     /**
@@ -107,62 +151,162 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
      */
     @Override
     public void lineAppended(IRegion line) {
+        IConsole console = this.console;
         if (console == null) return;
 
         int lineOffset = line.getOffset();
         int lineLength = line.getLength();
         try {
             String consoleLine = console.getDocument().get(lineOffset, lineLength);
+            if (!isStackTraceLine(consoleLine)) {
+                return;
+            }
             GroovyPlugin.trace(consoleLine);
-            Matcher m = linePattern.matcher(consoleLine);
-            String groovyFileName = null;
-            int lineNumber = -1;
-            int openParenIndexAt = -1;
-            int closeParenIndexAt = -1;
-            // match
-            if (m.matches()) {
-                GroovyCore.trace("match: " + m);
-
-                consoleLine = m.group(0);
-                openParenIndexAt = consoleLine.indexOf("(");
-                if (openParenIndexAt >= 0) {
-                    int end = consoleLine.indexOf(".groovy");
-                    if(end == -1 || (openParenIndexAt + 1) >= end) {
-                        return;
-                    }
-                    String groovyClassName = consoleLine.substring(openParenIndexAt + 1, end);
-                    int classIndex = consoleLine.indexOf(groovyClassName);
-                    int start = 3;
-                    if(classIndex < start || classIndex >= consoleLine.length()) {
-                        return;
-                    }
-                    String groovyFilePath = consoleLine.substring(start, classIndex).trim().replace('.','/');
-                    groovyFileName = groovyFilePath + groovyClassName + ".groovy";
-                    int colonIndex = consoleLine.indexOf(":");
-                    // get the line number in groovy class
-                    closeParenIndexAt = consoleLine.lastIndexOf(")");
-                    if (colonIndex > 0) {
-                        lineNumber = Integer.parseInt(consoleLine.substring(colonIndex + 1, closeParenIndexAt));
-                    }
-                    GroovyPlugin.trace("groovyFile=" + groovyFileName + " lineNumber:" + lineNumber);
-                }
-                // hyperlink if we found something
-                if (groovyFileName != null) {
-                    IFile[] file = searchForFileInLaunchConfig(groovyFileName);
-                    if (file.length == 1) {
-                        IHyperlink link = new FileLink(file[0], GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
-                        console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
-                    } else if (file.length > 1) {
-                        IHyperlink link = new AmbiguousFileLink(file, GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
-                        console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
+            if (BATCHED) {
+                synchronized (pending) {
+                    if (pending.size() >= MAX_PENDING_LINES) {
+                        pending.removeFirst();
                     }
+                    pending.addLast(new PendingLine(lineOffset, consoleLine));
                 }
+                scheduleLinkJob();
+            } else {
+                addLink(console, lineOffset, consoleLine);
             }
         } catch (Exception e) {
             GroovyPlugin.trace("unexpected error:" +  e.getMessage());
         }
     }
 
+    /**
+     * Cheap test for lines that {@link #linePattern} can match, so the regular
+     * expression only runs for lines that look like stack trace elements.
+     */
+    private static boolean isStackTraceLine(String consoleLine) {
+        return consoleLine.endsWith(")") && consoleLine.contains(".groovy");
+    }
+
+    private void addLink(IConsole console, int lineOffset, String consoleLine) throws JavaModelException {
+        Matcher m = linePattern.matcher(consoleLine);
+        String groovyFileName = null;
+        int lineNumber = -1;
+        int openParenIndexAt = -1;
+        int closeParenIndexAt = -1;
+        // match
+        if (m.matches()) {
+            GroovyCore.trace("match: " + m);
+
+            consoleLine = m.group(0);
+            openParenIndexAt = consoleLine.indexOf("(");
+            if (openParenIndexAt >= 0) {
+                int end = consoleLine.indexOf(".groovy");
+                if(end == -1 || (openParenIndexAt + 1) >= end) {
+                    return;
+                }
+                String groovyClassName = consoleLine.substring(openParenIndexAt + 1, end);
+                int classIndex = consoleLine.indexOf(groovyClassName);
+                int start = 3;
+                if(classIndex < start || classIndex >= consoleLine.length()) {
+                    return;
+                }
+                String groovyFilePath = consoleLine.substring(start, classIndex).trim().replace('.','/');
+                groovyFileName = groovyFilePath + groovyClassName + ".groovy";
+                int colonIndex = consoleLine.indexOf(":");
+                // get the line number in groovy class
+                closeParenIndexAt = consoleLine.lastIndexOf(")");
+                if (colonIndex > 0) {
+                    lineNumber = Integer.parseInt(consoleLine.substring(colonIndex + 1, closeParenIndexAt));
+                }
+                GroovyPlugin.trace("groovyFile=" + groovyFileName + " lineNumber:" + lineNumber);
+            }
+            // hyperlink if we found something
+            if (groovyFileName != null) {
+                IFile[] file = files.get(groovyFileName);
+                if (file == null || !isAccessible(file)) {
+                    file = searchForFileInLaunchConfig(groovyFileName);
+                    if (file.length > 0) {
+                        files.put(groovyFileName, file);
+                    } else {
+                        files.remove(groovyFileName);
+                    }
+                }
+                if (file.length == 1) {
+                    IHyperlink link = new FileLink(file[0], GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
+                    console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
+                } else if (file.length > 1) {
+                    IHyperlink link = new AmbiguousFileLink(file, GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
+                    console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
+                }
+            }
+        }
+    }
+
+    private static boolean isAccessible(IFile[] files) {
+        for (IFile file : files) {
+            if (!file.isAccessible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void scheduleLinkJob() {
+        if (linkJob == null) {
+            linkJob = new Job("Groovy console hyperlinks") {
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    return addPendingLinks(monitor);
+                }
+            };
+            linkJob.setSystem(true);
+            linkJob.setPriority(Job.DECORATE);
+        }
+        // a running job is scheduled again when it completes
+        int state = linkJob.getState();
+        if (state != Job.WAITING && state != Job.SLEEPING) {
+            linkJob.schedule(BATCH_DELAY);
+        }
+    }
+
+    private IStatus addPendingLinks(IProgressMonitor monitor) {
+        IConsole console = this.console;
+        List<PendingLine> lines = new ArrayList<>(CHUNK_SIZE);
+        synchronized (pending) {
+            while (lines.size() < CHUNK_SIZE && !pending.isEmpty()) {
+                lines.add(pending.removeFirst());
+            }
+        }
+        for (PendingLine line : lines) {
+            if (console == null || monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                // skip lines that the console has discarded in the meantime
+                if (line.text.equals(console.getDocument().get(line.offset, line.text.length()))) {
+                    addLink(console, line.offset, line.text);
+                }
+            } catch (Exception e) {
+                GroovyPlugin.trace("unexpected error:" +  e.getMessage());
+            }
+        }
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                scheduleLinkJob();
+            }
+        }
+        return Status.OK_STATUS;
+    }
+
+    private static class PendingLine {
+        final int offset;
+        final String text;
+
+        PendingLine(int offset, String text) {
+            this.offset = offset;
+            this.text = text;
+        }
+    }
+
     private IFile[] searchForFileInLaunchConfig(String groovyFileName) throws JavaModelException {
         List<IFile> files = new LinkedList<>();
         IJavaProject[] projects = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProjects();
@@ -211,5 +355,14 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
     @Override
     public void dispose() {
         console = null;
+        synchronized (this) {
+            if (linkJob != null) {
+                linkJob.cancel();
+            }
+        }
+        synchronized (pending) {
+            pending.clear();
+        }
+        files.clear();
     }
 }
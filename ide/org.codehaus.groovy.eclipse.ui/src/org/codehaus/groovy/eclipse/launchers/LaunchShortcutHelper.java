@@ -18,8 +18,12 @@ package org.codehaus.groovy.eclipse.launchers;
 import java.util.List;
 
 import org.codehaus.groovy.eclipse.GroovyPlugin;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.GroovyProjectFacade;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaUILabelProvider;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.window.Window;
@@ -29,6 +33,13 @@ import org.eclipse.ui.dialogs.ElementListSelectionDialog;
  * Helper methods for Launch Shortcuts to keep things dry.
  */
 public class LaunchShortcutHelper {
+
+    /**
+     * Disables the scan of the source text of compilation units that are not
+     * open, which lets {@link #hasRunnableType} answer without the Java model.
+     */
+    private static final boolean DISABLE_SOURCE_SCAN = Boolean.getBoolean("greclipse.launch.disableSourceScan");
+
     /**
      * The dialog title when selecting a class to run
      */
@@ -39,6 +50,26 @@ public class LaunchShortcutHelper {
      */
     public static final String SELECT_CLASS_DIALOG_TEXT = "More than one Groovy class in this file can be run.  Please select the class to run." ;
 
+    /**
+     * Determines if a compilation unit is a script or declares a type with a
+     * main method.  If the unit is not open, its source text is scanned first,
+     * so that most files are decided without building their Java model.
+     *
+     * @see RunnableSourceScanner
+     */
+    public static boolean hasRunnableType(ICompilationUnit unit) throws JavaModelException {
+        if (!(unit instanceof GroovyCompilationUnit)) {
+            return false;
+        }
+        if (!DISABLE_SOURCE_SCAN && !unit.isOpen()) {
+            Boolean runnable = RunnableSourceScanner.isRunnable(unit.getContents());
+            if (runnable != null) {
+                return runnable.booleanValue();
+            }
+        }
+        return !GroovyProjectFacade.findAllRunnableTypes(unit).isEmpty();
+    }
+
     /**
      * Prompts the user to select a class from the Lists.
      *
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.launchers;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides from the source text alone whether a Groovy file can be launched,
+ * so that context menus do not have to build the Java model of every file
+ * they are evaluated for.
+ * <p>
+ * The scan only recognizes the top-level structure: package and import
+ * statements, annotations and type declarations.  Anything else at the top
+ * level makes the file a script.  A file that only declares types cannot be
+ * launched unless one of them declares a {@code static main} method; since
+ * the parameters of such a method are not checked here, the answer is left to
+ * the Java model.  Slashy strings and other constructs that cannot be lexed
+ * without a parser also yield no answer.
+ */
+public class RunnableSourceScanner {
+
+    private static final Set<String> MODIFIERS = new HashSet<>(Arrays.asList(
+        "abstract", "final", "private", "protected", "public", "static", "strictfp"));
+
+    private static final Set<String> TYPE_KEYWORDS = new HashSet<>(Arrays.asList(
+        "class", "enum", "interface", "trait"));
+
+    /** Keywords that may be followed by a slashy string. */
+    private static final Set<String> OPERATOR_KEYWORDS = new HashSet<>(Arrays.asList(
+        "assert", "case", "in", "instanceof", "return", "throw", "yield"));
+
+    /**
+     * @return {@code TRUE} if the source is a script, {@code FALSE} if it only
+     *     declares types and none of them can have a main method, or
+     *     {@code null} if the source text alone is not enough to decide
+     */
+    public static Boolean isRunnable(char[] source) {
+        return new RunnableSourceScanner(source).scan();
+    }
+
+    //--------------------------------------------------------------------------
+
+    private enum TopLevel { DECLARATIONS, IMPORT, TYPE_HEADER }
+
+    private final char[] source;
+    private int index;
+
+    private RunnableSourceScanner(char[] source) {
+        this.source = source;
+    }
+
+    private Boolean scan() {
+        int depth = 0;
+        TopLevel state = TopLevel.DECLARATIONS;
+        boolean sawType = false, mainCandidate = false, staticModifier = false;
+        boolean annotation = false; // top-level annotation name or arguments may follow
+        char previous = 0; String previousWord = null; // last significant token
+
+        if (source.length > 1 && source[0] == '#' && source[1] == '!') {
+            skipLine();
+        }
+        while (index < source.length) {
+            char c = source[index];
+            if (c == '\n' && state == TopLevel.IMPORT && depth == 0 && previous != '.') {
+                state = TopLevel.DECLARATIONS;
+            }
+            if (Character.isWhitespace(c)) {
+                index += 1;
+                continue;
+            }
+            if (c == '/' && next(1) == '/') {
+                skipLine();
+                continue;
+            }
+            if (c == '/' && next(1) == '*') {
+                int end = indexOf("*/", index + 2);
+                if (end < 0) {
+                    return null;
+                }
+                index = end + 2;
+                continue;
+            }
+
+            if (Character.isJavaIdentifierStart(c)) {
+                if (c == '$' && next(1) == '/') {
+                    return null; // dollar slashy string
+                }
+                int start = index;
+                while (index < source.length && Character.isJavaIdentifierPart(source[index])) {
+                    index += 1;
+                }
+                String word = String.valueOf(source, start, index - start);
+
+                if (depth == 0) {
+                    switch (state) {
+                    case DECLARATIONS:
+                        if (TYPE_KEYWORDS.contains(word)) {
+                            state = TopLevel.TYPE_HEADER;
+                            sawType = true;
+                        } else if (annotation && (previous == '@' || previous == '.')) {
+                            // annotation name
+                        } else if ("package".equals(word) || "import".equals(word)) {
+                            state = TopLevel.IMPORT;
+                        } else if (!MODIFIERS.contains(word)) {
+                            return Boolean.TRUE; // statement or method of a script
+                        }
+                        break;
+                    case IMPORT:
+                    case TYPE_HEADER:
+                        break;
+                    }
+                } else if ("static".equals(word)) {
+                    staticModifier = true;
+                } else if ("main".equals(word) && staticModifier && nextSignificant() == '(') {
+                    mainCandidate = true;
+                }
+                previous = 'a';
+                previousWord = word;
+                continue;
+            }
+
+            if (Character.isDigit(c)) {
+                if (depth == 0 && state == TopLevel.DECLARATIONS) {
+                    return Boolean.TRUE;
+                }
+                while (index < source.length && (Character.isLetterOrDigit(source[index]) || source[index] == '.' || source[index] == '_')) {
+                    index += 1;
+                }
+                previous = '0';
+                continue;
+            }
+
+            if (c == '\'' || c == '"') {
+                if (depth == 0 && state == TopLevel.DECLARATIONS) {
+                    return Boolean.TRUE;
+                }
+                if (!skipString(c)) {
+                    return null;
+                }
+                previous = c;
+                continue;
+            }
+
+            if (c == '/' && !(previous == 'a' && !OPERATOR_KEYWORDS.contains(previousWord)) && previous != '0' &&
+                    previous != ')' && previous != ']' && previous != '\'' && previous != '"') {
+                return null; // slashy string
+            }
+
+            index += 1;
+            switch (c) {
+            case '{':
+            case '(':
+            case '[':
+                if (depth == 0 && state == TopLevel.DECLARATIONS && !(annotation && c == '(')) {
+                    return Boolean.TRUE;
+                }
+                if (depth == 0 && state == TopLevel.TYPE_HEADER && c == '{') {
+                    state = TopLevel.DECLARATIONS;
+                }
+                depth += 1;
+                if (c == '{') {
+                    staticModifier = false;
+                }
+                break;
+            case '}':
+            case ')':
+            case ']':
+                depth -= 1;
+                if (depth < 0) {
+                    return null;
+                }
+                if (c == '}') {
+                    staticModifier = false;
+                }
+                break;
+            case ';':
+                staticModifier = false;
+                if (depth == 0 && state == TopLevel.IMPORT) {
+                    state = TopLevel.DECLARATIONS;
+                }
+                break;
+            case '@':
+            case '.':
+                break;
+            default:
+                if (depth == 0 && state == TopLevel.DECLARATIONS) {
+                    return Boolean.TRUE;
+                }
+            }
+            if (depth == 0 && state == TopLevel.DECLARATIONS) {
+                // annotation names and arguments are only allowed directly after '@'
+                annotation = (c == '@' || (c == '.' && annotation) || (c == ')' && annotation));
+            }
+            previous = c;
+            previousWord = null;
+        }
+
+        if (depth != 0 || state == TopLevel.TYPE_HEADER || !sawType || mainCandidate) {
+            return null;
+        }
+        return Boolean.FALSE;
+    }
+
+    private char next(int offset) {
+        int i = index + offset;
+        return (i < source.length ? source[i] : 0);
+    }
+
+    private char nextSignificant() {
+        int i = index;
+        while (i < source.length && Character.isWhitespace(source[i])) {
+            i += 1;
+        }
+        return (i < source.length ? source[i] : 0);
+    }
+
+    private void skipLine() {
+        while (index < source.length && source[index] != '\n') {
+            index += 1;
+        }
+    }
+
+    private int indexOf(String text, int from) {
+        outer: for (int i = from, n = source.length - text.length(); i <= n; i += 1) {
+            for (int j = 0; j < text.length(); j += 1) {
+                if (source[i + j] != text.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Skips a quoted string; GString expressions may contain braces but no
+     * nested strings.
+     *
+     * @return {@code false} if the end of the string cannot be determined
+     */
+    private boolean skipString(char quote) {
+        boolean triple = (next(1) == quote && next(2) == quote);
+        index += (triple ? 3 : 1);
+        int braces = 0;
+        while (index < source.length) {
+            char c = source[index];
+            if (c == '\\') {
+                index += 2;
+                continue;
+            }
+            if (braces > 0) {
+                if (c == '{') {
+                    braces += 1;
+                } else if (c == '}') {
+                    braces -= 1;
+                } else if (c == '\'' || c == '"') {
+                    return false;
+                }
+            } else if (quote == '"' && c == '$' && next(1) == '{') {
+                braces = 1;
+                index += 1;
+            } else if (c == quote && (!triple || (next(1) == quote && next(2) == quote))) {
+                index += (triple ? 3 : 1);
+                return true;
+            } else if (c == '\n' && !triple) {
+                return false;
+            }
+            index += 1;
+        }
+        return false;
+    }
+}
@@ -18,7 +18,9 @@ package org.codehaus.groovy.eclipse.refactoring.actions;
 import static org.eclipse.jdt.groovy.core.util.GroovyUtils.getBaseType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -403,6 +405,7 @@ public class OrganizeGroovyImports {
     private final GroovyCompilationUnit unit;
     private Map<String, UnresolvedTypeData> missingTypes;
     private Map<String, ImportNode> importsSlatedForRemoval;
+    private final TypeSearch typeSearch = new TypeSearch();
 
     public OrganizeGroovyImports(GroovyCompilationUnit unit, IChooseImportQuery query) {
         this(unit, query, null);
@@ -525,11 +528,14 @@ public class OrganizeGroovyImports {
 
             // deal with the missing types
             if (!missingTypes.isEmpty()) {
-                pruneMissingTypes(allImports);
+                // one search for all of the missing names serves the pruning and the choices
+                monitor.subTask("Resolve missing types");
+                monitor.setWorkRemaining(2);
+                List<TypeNameMatch> matches = typeSearch.findTypes(unit, missingTypes.keySet(), monitor.split(1));
+                pruneMissingTypes(allImports, matches);
                 if (!missingTypes.isEmpty()) {
-                    monitor.subTask("Resolve missing types");
-                    monitor.setWorkRemaining(missingTypes.size() + 1);
-                    for (IType type : resolveMissingTypes(monitor.split(1))) {
+                    matches.removeIf(match -> !missingTypes.containsKey(match.getSimpleTypeName()));
+                    for (IType type : resolveMissingTypes(matches)) {
                         trace("Missing type '%s'", type);
                         rewriter.addImport(type.getFullyQualifiedName('.'));
                     }
@@ -564,7 +570,7 @@ public class OrganizeGroovyImports {
      * params have been satisfied correctly.  Another involves annotation
      * types that have not been identified correctly as annotations.
      */
-    private void pruneMissingTypes(Iterable<ImportNode> imports) throws JavaModelException {
+    private void pruneMissingTypes(Iterable<ImportNode> imports, List<TypeNameMatch> matches) throws JavaModelException {
         Set<String> starImports = new LinkedHashSet<>();
         Set<String> typeImports = new LinkedHashSet<>();
 
@@ -590,6 +596,13 @@ public class OrganizeGroovyImports {
             }
         }
 
+        // the containers (package or enclosing type) of each simple name, as on-demand import prefixes
+        Map<String, Set<String>> containers = new HashMap<>();
+        for (TypeNameMatch match : matches) {
+            String container = match.getTypeContainerName();
+            containers.computeIfAbsent(match.getSimpleTypeName(), x -> new HashSet<>()).add(container.isEmpty() ? "" : container + '.');
+        }
+
         // check each missing type against the module's single-type and on-demand imports
         on: for (Iterator<String> it = missingTypes.keySet().iterator(); it.hasNext();) {
             String typeName = it.next();
@@ -599,19 +612,27 @@ public class OrganizeGroovyImports {
                     continue on;
                 }
             }
-            for (String si : starImports) {
-                IType type = unit.getJavaProject().findType(si + typeName, (IProgressMonitor) null);
-                if (type != null) {
+            if (typeName.indexOf('.') < 0) {
+                Set<String> typeContainers = containers.get(typeName);
+                if (typeContainers != null && !Collections.disjoint(typeContainers, starImports)) {
                     it.remove();
-                    continue on;
+                }
+            } else {
+                // qualified names are not matched by the type name search
+                for (String si : starImports) {
+                    IType type = unit.getJavaProject().findType(si + typeName, (IProgressMonitor) null);
+                    if (type != null) {
+                        it.remove();
+                        continue on;
+                    }
                 }
             }
         }
     }
 
-    private IType[] resolveMissingTypes(IProgressMonitor monitor) throws JavaModelException {
+    private IType[] resolveMissingTypes(List<TypeNameMatch> matches) throws JavaModelException {
         // fill in all the potential matches
-        new TypeSearch().searchForTypes(unit, missingTypes, monitor);
+        typeSearch.addMatches(matches, missingTypes);
 
         List<TypeNameMatch> missingTypesNoChoiceRequired = new ArrayList<>();
         List<TypeNameMatch[]> missingTypesChoiceRequired = new ArrayList<>();
@@ -15,6 +15,10 @@
  */
 package org.codehaus.groovy.eclipse.refactoring.actions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -84,6 +88,14 @@ public class OrganizeGroovyImportsAction extends OrganizeImportsAction {
         ICompilationUnit[] units = delegate.getCompilationUnits(selection);
         if (units.length <= 1) {
             super.run(selection);
+        } else if (OrganizeGroovyImportsJob.isEnabled() && Arrays.stream(units).allMatch(GroovyCompilationUnit.class::isInstance)) {
+            if (ElementValidator.check(units, getShell(), ActionMessages.OrganizeImportsAction_error_title, false)) {
+                List<GroovyCompilationUnit> groovyUnits = new ArrayList<>(units.length);
+                for (ICompilationUnit unit : units) {
+                    groovyUnits.add((GroovyCompilationUnit) unit);
+                }
+                new OrganizeGroovyImportsJob(groovyUnits).schedule();
+            }
         } else { // avoid calling getCompilationUnits again by calling runOnMultiple directly
             ReflectionUtils.executePrivateMethod(CleanUpAction.class, "runOnMultiple", new Class[] {ICompilationUnit[].class}, delegate, new Object[] {units});
         }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.groovy.eclipse.GroovyPlugin;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.ui.actions.ActionMessages;
+import org.eclipse.jdt.internal.ui.viewsupport.BasicElementLabels;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Organizes the imports of many Groovy compilation units in the background.
+ * The import edits are calculated on a bounded pool of worker threads and then
+ * applied in a single workspace operation, so builders and listeners see one
+ * batch of resource changes.  Units with ambiguous imports keep their existing
+ * imports for the ambiguous names, like the organize imports clean up.  Units
+ * that change while the edits are calculated are calculated again before their
+ * edit is applied.
+ * <p>
+ * Enabled for multi-selections by the system property
+ * {@code greclipse.organizeImports.parallel}; the number of workers can be set
+ * with {@code greclipse.organizeImports.threads}.
+ */
+public class OrganizeGroovyImportsJob extends Job {
+
+    private static final boolean ENABLED = Boolean.getBoolean("greclipse.organizeImports.parallel");
+
+    private static final int THREADS = Math.max(1, Integer.getInteger("greclipse.organizeImports.threads",
+        Runtime.getRuntime().availableProcessors()));
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final List<GroovyCompilationUnit> units;
+    private final List<Result> results = Collections.synchronizedList(new ArrayList<>());
+
+    public OrganizeGroovyImportsJob(List<GroovyCompilationUnit> units) {
+        super("Organize Groovy imports");
+        this.units = new ArrayList<>(units);
+        setUser(true);
+    }
+
+    /**
+     * @return the outcome for each unit that was processed, in order of
+     *     completion; available after the job has finished
+     */
+    public List<Result> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, getName(), units.size() * 2);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(THREADS, Math.max(1, units.size())), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Groovy Organize Imports Worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            CompletionService<Result> service = new ExecutorCompletionService<>(executor);
+            Map<Future<Result>, GroovyCompilationUnit> submitted = new HashMap<>();
+            for (GroovyCompilationUnit unit : units) {
+                submitted.put(service.submit(() -> calculate(unit)), unit);
+            }
+            List<Result> pending = new ArrayList<>(units.size());
+            for (int i = 0, n = units.size(); i < n; i += 1) {
+                if (progress.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                Future<Result> future = service.take();
+                try {
+                    Result result = future.get();
+                    progress.subTask(result.unit.getElementName());
+                    results.add(result);
+                    if (result.edit != null) {
+                        pending.add(result);
+                    }
+                } catch (ExecutionException e) {
+                    GroovyCompilationUnit unit = submitted.get(future);
+                    GroovyPlugin.getDefault().logError("Error organizing imports for " + unit.getElementName(), e.getCause());
+                    Result result = new Result(unit, false, false);
+                    result.error = e.getCause();
+                    results.add(result);
+                }
+                progress.worked(1);
+            }
+
+            apply(pending, progress.split(units.size()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Status.CANCEL_STATUS;
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (CoreException e) {
+            return e.getStatus();
+        } finally {
+            executor.shutdownNow();
+            if (monitor != null) {
+                monitor.done();
+            }
+        }
+        return summarize(System.nanoTime() - start);
+    }
+
+    /**
+     * Calculates the import edit of a unit.  Runs on a worker thread.
+     */
+    private Result calculate(GroovyCompilationUnit unit) throws JavaModelException {
+        long start = System.nanoTime();
+        String source = unit.getSource();
+        boolean[] hasAmbiguity = {false};
+        OrganizeGroovyImports op = new OrganizeGroovyImports(unit, (choices, ranges) -> {
+            hasAmbiguity[0] = true;
+            return new TypeNameMatch[0];
+        });
+        TextEdit edit = op.calculateMissingImports();
+        Result result = new Result(unit, edit != null, hasAmbiguity[0]);
+        if (edit != null && !(edit instanceof MultiTextEdit && edit.getChildrenSize() == 0)) {
+            result.edit = edit;
+            result.source = source;
+        }
+        result.calculateNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Applies the edits in one workspace operation.  Units that are open in an
+     * editor are changed in the editor buffer and left unsaved; all others are
+     * changed through a temporary working copy and written to disk.  A unit
+     * whose source no longer matches the one its edit was calculated for is
+     * calculated again.
+     */
+    private void apply(List<Result> pending, IProgressMonitor monitor) throws CoreException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ISchedulingRule> rules = new ArrayList<>(pending.size());
+        for (Result result : pending) {
+            IResource resource = result.unit.getResource();
+            if (resource != null) {
+                rules.add(ResourcesPlugin.getWorkspace().getRuleFactory().modifyRule(resource));
+            }
+        }
+        ISchedulingRule rule = MultiRule.combine(rules.toArray(new ISchedulingRule[rules.size()]));
+
+        ResourcesPlugin.getWorkspace().run((IProgressMonitor pm) -> {
+            SubMonitor progress = SubMonitor.convert(pm, pending.size());
+            for (Result result : pending) {
+                progress.subTask(result.unit.getElementName());
+                long start = System.nanoTime();
+                GroovyCompilationUnit unit = result.unit;
+                try {
+                    if (!result.source.equals(unit.getSource())) {
+                        Result update = calculate(unit);
+                        update.calculateNanos += result.calculateNanos;
+                        results.set(results.indexOf(result), update);
+                        result = update;
+                        if (result.edit == null) {
+                            continue;
+                        }
+                    }
+                    if (unit.isWorkingCopy()) {
+                        unit.applyTextEdit(result.edit, progress.split(1));
+                    } else {
+                        unit.becomeWorkingCopy(null);
+                        try {
+                            unit.applyTextEdit(result.edit, null);
+                            unit.commitWorkingCopy(false, progress.split(1));
+                        } finally {
+                            unit.discardWorkingCopy();
+                        }
+                    }
+                    result.applied = true;
+                } catch (CoreException e) {
+                    GroovyPlugin.getDefault().logError("Error organizing imports for " + unit.getElementName(), e);
+                    result.error = e;
+                }
+                result.source = null;
+                result.applyNanos = System.nanoTime() - start;
+            }
+        }, rule, IWorkspace.AVOID_UPDATE, monitor);
+    }
+
+    private IStatus summarize(long elapsedNanos) {
+        int changed = 0;
+        MultiStatus status = new MultiStatus(GroovyPlugin.PLUGIN_ID, IStatus.OK, "", null);
+        StringBuilder timings = new StringBuilder();
+        synchronized (results) {
+            for (Result result : results) {
+                if (result.applied) {
+                    changed += 1;
+                }
+                String location = BasicElementLabels.getPathLabel(result.unit.getPath(), false);
+                if (result.error != null) {
+                    status.add(new Status(IStatus.ERROR, GroovyPlugin.PLUGIN_ID, "Error organizing imports for " + location, result.error));
+                } else if (!result.parsed) {
+                    status.add(new Status(IStatus.INFO, GroovyPlugin.PLUGIN_ID, Messages.format(ActionMessages.OrganizeImportsAction_multi_error_parse, location)));
+                } else if (result.ambiguous) {
+                    status.add(new Status(IStatus.INFO, GroovyPlugin.PLUGIN_ID, Messages.format(ActionMessages.OrganizeImportsAction_multi_error_unresolvable, location)));
+                }
+                timings.append(String.format("%n  %s: calculate %dms, apply %dms", location, result.calculateNanos / 1000000, result.applyNanos / 1000000));
+            }
+        }
+        GroovyPlugin.trace(String.format("Organized imports of %d Groovy files (%d changed) in %dms using %d threads:%s",
+            results.size(), changed, elapsedNanos / 1000000, Math.min(THREADS, Math.max(1, units.size())), timings));
+
+        if (status.isOK()) {
+            return Status.OK_STATUS;
+        }
+        return new MultiStatus(GroovyPlugin.PLUGIN_ID, IStatus.INFO, status.getChildren(),
+            String.format("Organized imports of %d Groovy files; %d could not be fully organized", results.size(), status.getChildren().length), null);
+    }
+
+    //--------------------------------------------------------------------------
+
+    public static class Result {
+        public final GroovyCompilationUnit unit;
+        /** {@code false} if the unit could not be parsed or has compile errors */
+        public final boolean parsed;
+        /** {@code true} if some imports could not be chosen without user input */
+        public final boolean ambiguous;
+        public volatile boolean applied;
+        /** the failure that kept the imports from being organized, if any */
+        public volatile Throwable error;
+        public volatile long calculateNanos, applyNanos;
+        volatile TextEdit edit;
+        /** source text the edit was calculated for */
+        volatile String source;
+
+        Result(GroovyCompilationUnit unit, boolean parsed, boolean ambiguous) {
+            this.unit = unit;
+            this.parsed = parsed;
+            this.ambiguous = ambiguous;
+        }
+    }
+}
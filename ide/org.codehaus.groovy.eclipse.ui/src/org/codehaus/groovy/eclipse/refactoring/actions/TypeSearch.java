@@ -16,6 +16,7 @@
 package org.codehaus.groovy.eclipse.refactoring.actions;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -76,25 +77,42 @@ public class TypeSearch {
      * @see OrganizeImportsOperation.TypeReferenceProcessor#process(org.eclipse.core.runtime.IProgressMonitor)
      */
     public void searchForTypes(GroovyCompilationUnit unit, Map<String, UnresolvedTypeData> missingTypes, IProgressMonitor monitor) throws JavaModelException, OperationCanceledException {
-        char[][] allTypes = new char[missingTypes.size()][];
+        addMatches(findTypes(unit, missingTypes.keySet(), monitor), missingTypes);
+    }
+
+    /**
+     * Finds the types with any of the given simple names in a single search.
+     *
+     * @return all matches, including those excluded by the type filter
+     */
+    public List<TypeNameMatch> findTypes(GroovyCompilationUnit unit, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException, OperationCanceledException {
+        char[][] allTypes = new char[simpleNames.size()][];
         int i = 0;
-        for (String simpleName : missingTypes.keySet()) {
+        for (String simpleName : simpleNames) {
             allTypes[i++] = simpleName.toCharArray();
         }
         List<TypeNameMatch> typesFound = new ArrayList<>();
         TypeNameMatchRequestor requestor = new TypeNameMatchRequestor() {
             @Override
             public void acceptTypeNameMatch(TypeNameMatch match) {
-                if (!TypeFilter.isFiltered(match)) {
-                    typesFound.add(match);
-                }
+                typesFound.add(match);
             }
         };
         IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {unit.getJavaProject()});
         int policy = (monitor == null ? IJavaSearchConstants.CANCEL_IF_NOT_READY_TO_SEARCH : IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH);
         new SearchEngine().searchAllTypeNames(null, allTypes, scope, requestor, policy, monitor);
+        return typesFound;
+    }
 
-        for (TypeNameMatch match : typesFound) {
+    /**
+     * Adds the matches that pass the type filter to the data of the missing
+     * types they match.
+     */
+    public void addMatches(List<TypeNameMatch> matches, Map<String, UnresolvedTypeData> missingTypes) throws JavaModelException {
+        for (TypeNameMatch match : matches) {
+            if (TypeFilter.isFiltered(match)) {
+                continue;
+            }
             UnresolvedTypeData data = missingTypes.get(match.getSimpleTypeName());
             if (data == null) {
                 GroovyCore.logException("GRECLIPSE-735: Match not found in missing types: " + match.getFullyQualifiedName(), new Exception());
@@ -15,18 +15,14 @@
  */
 package org.codehaus.groovy.eclipse.ui;
 
-import java.util.List;
-
 import org.codehaus.groovy.eclipse.core.GroovyCore;
-import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
-import org.codehaus.jdt.groovy.model.GroovyProjectFacade;
+import org.codehaus.groovy.eclipse.launchers.LaunchShortcutHelper;
 import org.eclipse.core.expressions.PropertyTester;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaModelStatusConstants;
-import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
@@ -77,11 +73,6 @@ public class GroovyResourcePropertyTester extends PropertyTester {
     }
 
     private boolean isRunnable(ICompilationUnit unit) throws JavaModelException {
-        boolean result = false;
-        if (unit instanceof GroovyCompilationUnit) {
-            List<IType> runnables = GroovyProjectFacade.findAllRunnableTypes(unit);
-            result = (!runnables.isEmpty());
-        }
-        return result;
+        return LaunchShortcutHelper.hasRunnableType(unit);
     }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipFile;
 
+import org.codehaus.jdt.groovy.integration.LanguageSupport;
 import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.*;
@@ -1253,6 +1254,20 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 	// GROOVY add
 	final boolean isInterestingProject = LanguageSupportFactory.isInterestingProject(javaProject.getProject());
 	HashSet<PossibleMatch> alreadyMatched = new HashSet<PossibleMatch>();
+	LanguageSupport.DelegatedSearch delegatedSearch = null;
+	if (isInterestingProject) {
+		// give language support a chance to process all interesting files at once
+		ArrayList<PossibleMatch> interestingMatches = new ArrayList<PossibleMatch>();
+		for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
+			if (possibleMatches[i].isInterestingSourceFile() && !skipMatch(javaProject, possibleMatches[i])) {
+				interestingMatches.add(possibleMatches[i]);
+			}
+		}
+		if (interestingMatches.size() > 1) {
+			PossibleMatch[] batch = interestingMatches.toArray(new PossibleMatch[interestingMatches.size()]);
+			delegatedSearch = LanguageSupportFactory.prepareDelegatedSearch(batch, this.pattern, this.requestor, this.progressMonitor);
+		}
+	}
 	// GROOVY end
 	// create and resolve binding (equivalent to beginCompilation() in Compiler)
 	boolean mustResolvePattern = this.pattern.mustResolve;
@@ -1264,7 +1279,7 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 			PossibleMatch possibleMatch = possibleMatches[i];
 			if (skipMatch(javaProject, possibleMatch)) continue;
 			// GROOVY add
-			if (isInterestingProject && possibleMatch.isInterestingSourceFile() && LanguageSupportFactory.maybePerformDelegatedSearch(possibleMatch, this.pattern, this.requestor)) {
+			if (isInterestingProject && possibleMatch.isInterestingSourceFile() && ((delegatedSearch != null && delegatedSearch.report(possibleMatch)) || LanguageSupportFactory.maybePerformDelegatedSearch(possibleMatch, this.pattern, this.requestor))) {
 				alreadyMatched.add(possibleMatch);
 			}
 			// GROOVY end
@@ -1324,6 +1339,11 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 	} catch (AbortCompilation e) {
 		bindingsWereCreated = false;
 	}
+	// GROOVY add
+	finally {
+		if (delegatedSearch != null) delegatedSearch.cancel();
+	}
+	// GROOVY end
 
 	if (!mustResolve) {
 		return;
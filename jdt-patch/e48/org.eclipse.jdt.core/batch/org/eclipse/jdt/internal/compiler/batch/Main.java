@@ -68,6 +68,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.CompilationProgress;
@@ -1428,6 +1429,9 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public CompilerStats[] compilerStats;
 	public boolean verbose = false;
 	private String[] expandedCommandLine;
+	// GROOVY add
+	private boolean groovyMetrics;
+	// GROOVY end
 
 	private PrintWriter err;
 
@@ -1779,6 +1783,13 @@ public boolean compile(String[] argv) {
 			}
 			if (this.showProgress) this.logger.printNewLine();
 		}
+		// GROOVY add
+		if (this.groovyMetrics) {
+			this.groovyMetrics = false;
+			LanguageSupportFactory.setMetricsEnabled(false);
+			LanguageSupportFactory.printMetrics(this.out);
+		}
+		// GROOVY end
 		if (this.systemExitWhenFinished) {
 			this.logger.flush();
 			this.logger.close();
@@ -2084,6 +2095,12 @@ public void configure(String[] argv) {
 					});
 					continue;
 				}
+				if (currentArg.equals("-groovyMetrics")) { //$NON-NLS-1$
+					// collect transform and phase timings and print them after compiling
+					this.groovyMetrics = true;
+					LanguageSupportFactory.setMetricsEnabled(true);
+					continue;
+				}
 				// GROOVY end
 				if (currentArg.equals("-log")) { //$NON-NLS-1$
 					if (this.log != null)
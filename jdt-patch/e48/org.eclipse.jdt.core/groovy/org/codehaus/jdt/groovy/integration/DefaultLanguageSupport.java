@@ -15,6 +15,8 @@
  */
 package org.codehaus.jdt.groovy.integration;
 
+import java.io.PrintWriter;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
@@ -128,6 +130,12 @@ class DefaultLanguageSupport implements LanguageSupport {
 		return false;
 	}
 
+	@Override
+	public DelegatedSearch prepareDelegatedSearch(PossibleMatch[] possibleMatches, SearchPattern pattern,
+			SearchRequestor requestor, IProgressMonitor monitor) {
+		return null;
+	}
+
 	@Override
 	public EventHandler getEventHandler() {
 		return DefaultEventHandler.instance;
@@ -169,4 +177,14 @@ class DefaultLanguageSupport implements LanguageSupport {
 	public ISupplementalIndexer getSupplementalIndexer() {
 		return new NoopIndexer();
 	}
+
+	@Override
+	public void setMetricsEnabled(boolean enabled) {
+		// nop
+	}
+
+	@Override
+	public void printMetrics(PrintWriter out) {
+		// nop
+	}
 }
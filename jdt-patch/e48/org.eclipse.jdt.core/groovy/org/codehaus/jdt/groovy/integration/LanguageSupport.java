@@ -15,6 +15,8 @@
  */
 package org.codehaus.jdt.groovy.integration;
 
+import java.io.PrintWriter;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IClassFile;
@@ -120,6 +122,38 @@ public interface LanguageSupport {
 	 */
 	boolean maybePerformDelegatedSearch(PossibleMatch possibleMatch, SearchPattern pattern, SearchRequestor requestor);
 
+	/**
+	 * Maybe prepare a search for several possible matches at once using special
+	 * language support.  The possible matches may be processed concurrently, but
+	 * results are only sent to the SearchRequestor when
+	 * {@link DelegatedSearch#report(PossibleMatch)} is called for a possible match,
+	 * so the caller decides the order in which they are reported.
+	 * @param possibleMatches the possible matches to look for
+	 * @param pattern
+	 * @param requestor the requestor to send any completed search results to
+	 * @param monitor the search progress monitor; may be null
+	 * @return the prepared search, or null if the possible matches are to be searched one by one
+	 */
+	DelegatedSearch prepareDelegatedSearch(PossibleMatch[] possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor);
+
+	/**
+	 * A search prepared by {@link LanguageSupport#prepareDelegatedSearch}.
+	 */
+	interface DelegatedSearch {
+		/**
+		 * Sends the results for the given possible match to the requestor, waiting
+		 * for them if necessary.
+		 * @return true iff the search was performed for the possible match
+		 * @throws org.eclipse.core.runtime.OperationCanceledException if the search was canceled
+		 */
+		boolean report(PossibleMatch possibleMatch);
+
+		/**
+		 * Stops any work for possible matches that have not been reported.
+		 */
+		void cancel();
+	}
+
 	EventHandler getEventHandler();
 
 	void filterNonSourceMembers(BinaryType binaryType);
@@ -154,4 +188,15 @@ public interface LanguageSupport {
 	 * @return the supplemental indexer that provides extra indexing for interesting binary files
 	 */
 	ISupplementalIndexer getSupplementalIndexer();
+
+	/**
+	 * Turns collection of compiler metrics (such as transform and phase timings) on or off.
+	 */
+	void setMetricsEnabled(boolean enabled);
+
+	/**
+	 * Prints the compiler metrics collected so far.
+	 * @param out the writer to print to
+	 */
+	void printMetrics(PrintWriter out);
 }
@@ -15,6 +15,8 @@
  */
 package org.codehaus.jdt.groovy.integration;
 
+import java.io.PrintWriter;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
@@ -114,6 +116,10 @@ public class LanguageSupportFactory {
 		return getLanguageSupport().maybePerformDelegatedSearch(possibleMatch, pattern, requestor);
 	}
 
+	public static LanguageSupport.DelegatedSearch prepareDelegatedSearch(PossibleMatch[] possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor) {
+		return getLanguageSupport().prepareDelegatedSearch(possibleMatches, pattern, requestor, monitor);
+	}
+
 	/**
 	 * Removes members from this binary type that are not mapped to locations in the
 	 * source code (ie- their source location is invalid).  This ensures that
@@ -219,4 +225,12 @@ public class LanguageSupportFactory {
 	public static ISupplementalIndexer getSupplementalIndexer() {
 		return getLanguageSupport().getSupplementalIndexer();
 	}
+
+	public static void setMetricsEnabled(boolean enabled) {
+		getLanguageSupport().setMetricsEnabled(enabled);
+	}
+
+	public static void printMetrics(PrintWriter out) {
+		getLanguageSupport().printMetrics(out);
+	}
 }
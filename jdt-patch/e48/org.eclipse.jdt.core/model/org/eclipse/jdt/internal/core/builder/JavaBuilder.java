@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.builder;
 
+import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
 
@@ -169,6 +170,9 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 	try {
 		this.notifier.checkCancel();
 		kind = initializeBuilder(kind, true);
+		// GROOVY add
+		LanguageSupportFactory.getEventHandler().handle(this.javaProject, "build"); //$NON-NLS-1$
+		// GROOVY end
 
 		if (isWorthBuilding()) {
 			if (kind == FULL_BUILD) {